@@ -15,33 +15,43 @@
  */
 package org.movealong.sly.app;
 
+import com.jnape.palatable.lambda.adt.Either;
 import com.jnape.palatable.lambda.adt.Maybe;
 import com.jnape.palatable.lambda.adt.Unit;
-import com.jnape.palatable.lambda.adt.hmap.HMap;
+import com.jnape.palatable.lambda.functions.Fn1;
 import com.jnape.palatable.lambda.functions.specialized.Kleisli;
 import com.jnape.palatable.lambda.functor.Functor;
 import com.jnape.palatable.lambda.functor.builtin.Identity;
 import com.jnape.palatable.lambda.io.IO;
-import com.jnape.palatable.lambda.monad.Monad;
-import com.jnape.palatable.lambda.optics.Lens;
-import com.jnape.palatable.shoki.impl.StrictStack;
 import com.jnape.palatable.winterbourne.NaturalTransformation;
 import lombok.RequiredArgsConstructor;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import static com.jnape.palatable.lambda.adt.Either.left;
+import static com.jnape.palatable.lambda.adt.Either.right;
 import static com.jnape.palatable.lambda.adt.Maybe.just;
-import static com.jnape.palatable.lambda.adt.hmap.HMap.emptyHMap;
+import static com.jnape.palatable.lambda.adt.Maybe.nothing;
 import static com.jnape.palatable.lambda.functions.Fn0.fn0;
-import static com.jnape.palatable.lambda.functions.builtin.fn2.Eq.eq;
-import static com.jnape.palatable.lambda.functions.builtin.fn2.Find.find;
+import static com.jnape.palatable.lambda.functions.builtin.fn1.Constantly.constantly;
 import static com.jnape.palatable.lambda.io.IO.io;
 import static com.jnape.palatable.lambda.io.IO.throwing;
-import static com.jnape.palatable.lambda.optics.functions.Set.set;
-import static com.jnape.palatable.lambda.optics.functions.View.view;
-import static com.jnape.palatable.lambda.optics.lenses.HMapLens.valueAt;
-import static com.jnape.palatable.shoki.impl.StrictStack.strictStack;
 import static java.lang.Runtime.getRuntime;
+import static java.util.Arrays.asList;
 import static lombok.AccessLevel.PRIVATE;
+import static org.movealong.sly.app.Binding.binding;
+import static org.movealong.sly.app.Concurrently.unwrap;
+import static org.movealong.sly.app.Registry.emptyRegistry;
 import static org.movealong.sly.app.Service.serviceRef;
+import static org.movealong.sly.app.Starter.recorded;
+import static org.movealong.sly.app.Starter.starter;
 import static org.movealong.sly.lang.nt.PerformingIO.performingIO;
 import static org.movealong.sly.lang.nt.ThrowingExceptions.throwingExceptions;
 
@@ -53,8 +63,11 @@ import static org.movealong.sly.lang.nt.ThrowingExceptions.throwingExceptions;
  */
 @RequiredArgsConstructor(access = PRIVATE)
 public final class App {
-    private static final App  INSTANCE = new App(emptyHMap());
-    private final        HMap registry;
+    private static final App             INSTANCE    = new App(emptyRegistry(), false, nothing());
+    private static final String          APPLICATION = "application";
+    private final        Registry        registry;
+    private final        boolean         memoizing;
+    private final        Maybe<Profiler> profiler;
 
     /**
      * Binds a {@link Service} to a {@link ServiceHandle}. Binding a service to
@@ -72,10 +85,57 @@ public final class App {
      * an application
      */
     public static <S> Kleisli<App, App, IO<?>, IO<App>> bind(ServiceHandle<S> handle, Service<S> service) {
-        Lens.Simple<HMap, Maybe<Service<S>>> lens = valueAt(handle);
-        return app -> view(lens, app.registry).match(
-            fn0(() -> io(new App(set(lens, just(service), app.registry)))),
-            s -> throwing(new ServiceException("Binding is a duplicate", handle)));
+        return bindAll(binding(handle, service));
+    }
+
+    /**
+     * Binds many {@link Service}s to their {@link ServiceHandle}s in one step.
+     * The effect is the same as composing a <code>bind</code> for each of the
+     * {@link Binding}s, but the bindings are installed together, in a single
+     * pass over <code>bindings</code>. As with <code>bind</code>, a handle
+     * that is already bound, or that appears more than once among the
+     * bindings, will result in an exception.
+     *
+     * @param bindings the {@link Binding}s to install
+     * @return A {@link Kleisli} function that forms part of the composition of
+     * an application
+     */
+    public static Kleisli<App, App, IO<?>, IO<App>> bindAll(Iterable<? extends Binding<?>> bindings) {
+        return app -> app.registry.bindAll(bindings).fmap(registry -> new App(registry, app.memoizing, app.profiler));
+    }
+
+    /**
+     * Binds many {@link Service}s to their {@link ServiceHandle}s in one step.
+     *
+     * @param bindings the {@link Binding}s to install
+     * @return A {@link Kleisli} function that forms part of the composition of
+     * an application
+     * @see App#bindAll(Iterable)
+     */
+    public static Kleisli<App, App, IO<?>, IO<App>> bindAll(Binding<?>... bindings) {
+        return bindAll(asList(bindings));
+    }
+
+    /**
+     * Switches an application to memoizing resolution. Without memoization,
+     * a handle's {@link Service} is resolved again every time the handle is
+     * referenced, so a dependency shared by several services is constructed
+     * once for each path through the dependency graph that reaches it. With
+     * memoization, each handle is resolved at most once each time the
+     * {@link IO} produced by <code>resolve</code> is performed, and every
+     * service that references the handle receives the same service object.
+     * Service objects that are themselves deferred, such as an {@link IO}
+     * bound as the service type, are still performed on demand by whoever
+     * holds them. When dependencies are resolved concurrently, a handle that
+     * one branch is resolving is waited for by any other branch that
+     * references it, and a dependency cycle that runs across branches is
+     * reported rather than waited on.
+     *
+     * @return A {@link Kleisli} function that forms part of the composition of
+     * an application
+     */
+    public static Kleisli<App, App, IO<?>, IO<App>> memoizing() {
+        return app -> io(new App(app.registry, true, app.profiler));
     }
 
     /**
@@ -90,7 +150,7 @@ public final class App {
      */
     public static <S>
     Kleisli<App, S, IO<?>, IO<S>> resolve(Service<S> service) {
-        return app -> service.resolveService(app.new AppServices(strictStack()));
+        return app -> app.resolving(service, false);
     }
 
     /**
@@ -110,6 +170,108 @@ public final class App {
         return resolve(serviceRef(handle));
     }
 
+    /**
+     * Resolves a service, resolving sibling dependencies concurrently.
+     * Dependencies that are referenced together, as with the multi-handle
+     * <code>service</code> methods of {@link Service}, are resolved in
+     * parallel using the supplied {@link Executor}, whereas dependencies that
+     * are referenced in sequence by <code>flatMap</code> are still resolved
+     * in order. Cycle detection and error reporting are the same as with
+     * <code>resolve</code>, and a {@link ServiceException} raised while
+     * resolving any dependency is the error produced by the resulting
+     * {@link IO}.
+     *
+     * @param <S>      the service object type
+     * @param service  the {@link Service}
+     * @param executor the {@link Executor} on which to resolve dependencies
+     * @return An <i>application function</i>
+     */
+    public static <S>
+    Kleisli<App, S, IO<?>, IO<S>> resolveParallel(Service<S> service, Executor executor) {
+        return app -> performingAsync(app.resolving(service, true), executor);
+    }
+
+    /**
+     * Resolves a service by its {@link ServiceHandle}, resolving sibling
+     * dependencies concurrently on the supplied {@link Executor}.
+     *
+     * @param <S>      the service object type
+     * @param handle   handle for the application service
+     * @param executor the {@link Executor} on which to resolve dependencies
+     * @return An <i>application function</i>
+     * @see App#resolveParallel(Service, Executor)
+     */
+    public static <S> Kleisli<App, S, IO<?>, IO<S>>
+    resolveParallel(ServiceHandle<S> handle, Executor executor) {
+        return resolveParallel(serviceRef(handle), executor);
+    }
+
+    /**
+     * Compiles a service into a {@link ResolutionPlan}. Compilation applies
+     * the bindings, then walks the bound dependency graph once and validates
+     * it, so that a missing binding or a dependency cycle is reported as a
+     * {@link ServiceException} before any service is constructed, rather than
+     * when the affected part of the graph happens to be resolved. The plan
+     * can then be resolved repeatedly using <code>resolve</code>.
+     *
+     * @param <S>      the service object type
+     * @param bindings a {@link Kleisli} composed of one or more
+     *                 <code>bind</code> calls
+     * @param service  the {@link Service}
+     * @return the compiled {@link ResolutionPlan}, within {@link IO}
+     */
+    public static <S> IO<ResolutionPlan<S>>
+    compile(Kleisli<App, App, IO<?>, IO<App>> bindings, Service<S> service) {
+        return bindings.apply(INSTANCE)
+            .flatMap(app -> io(() -> ResolutionPlan.compile(app.registry, service)));
+    }
+
+    /**
+     * Compiles a service into a {@link ResolutionPlan} by its
+     * {@link ServiceHandle}.
+     *
+     * @param <S>      the service object type
+     * @param bindings a {@link Kleisli} composed of one or more
+     *                 <code>bind</code> calls
+     * @param handle   handle for the application service
+     * @return the compiled {@link ResolutionPlan}, within {@link IO}
+     * @see App#compile(Kleisli, Service)
+     */
+    public static <S> IO<ResolutionPlan<S>>
+    compile(Kleisli<App, App, IO<?>, IO<App>> bindings, ServiceHandle<S> handle) {
+        return compile(bindings, serviceRef(handle));
+    }
+
+    /**
+     * Describes the graph of services bound by <code>bindings</code> and their
+     * declared dependencies, without constructing any service objects. The
+     * {@link ServiceGraph} also identifies the longest dependency chains,
+     * which bound how quickly the graph can be resolved.
+     *
+     * @param bindings a {@link Kleisli} composed of one or more
+     *                 <code>bind</code> calls
+     * @return the {@link ServiceGraph}, within {@link IO}, which fails with a
+     * {@link ServiceException} if the declared dependencies form a cycle
+     */
+    public static IO<ServiceGraph> graph(Kleisli<App, App, IO<?>, IO<App>> bindings) {
+        return bindings.apply(INSTANCE)
+            .flatMap(app -> io(() -> ServiceGraph.of(app.registry)));
+    }
+
+    /**
+     * Resolves a service using a {@link ResolutionPlan}. The plan carries the
+     * bindings that it was compiled from, so the resulting <i>application
+     * function</i> does not depend on the bindings of the {@link App} that it
+     * is applied to, and may be run or started directly.
+     *
+     * @param <S>  the service object type
+     * @param plan the compiled {@link ResolutionPlan}
+     * @return An <i>application function</i>
+     */
+    public static <S> Kleisli<App, S, IO<?>, IO<S>> resolve(ResolutionPlan<S> plan) {
+        return app -> plan.resolve();
+    }
+
     /**
      * Runs an application in the form of an <i>application function</i> that
      * yields n {@link Runner} that produces a {@link Functor} that bears the
@@ -145,31 +307,350 @@ public final class App {
      */
     public static <S extends Starter<IO<?>>>
     void start(Kleisli<App, S, IO<?>, IO<S>> application) {
+        startStopping(application, stopper -> stopper.<IO<Unit>>stop());
+    }
+
+    /**
+     * Starts an application in the same manner as <code>start</code>, except
+     * that the shutdown hook stops the application according to a
+     * {@link Shutdown} policy. The hook returns once the application has
+     * stopped or the policy's deadline has passed, and the policy's
+     * {@link ShutdownReport} is delivered before it returns.
+     *
+     * @param <S>         the {@link Starter} type
+     * @param application the application function
+     * @param shutdown    the {@link Shutdown} policy
+     */
+    public static <S extends Starter<IO<?>>>
+    void start(Kleisli<App, S, IO<?>, IO<S>> application, Shutdown shutdown) {
+        startStopping(application, shutdown::stop);
+    }
+
+    private static <S extends Starter<IO<?>>>
+    void startStopping(Kleisli<App, S, IO<?>, IO<S>> application, Fn1<Stopper<IO<?>>, IO<Unit>> stopping) {
         NaturalTransformation<IO<?>, Identity<?>> transformation =
             performingIO()
                 .andThen(throwingExceptions());
         transformation
             .apply(application
-                       .andThen(Starter::<Monad<Stopper<IO<?>>, IO<?>>>start)
+                       .andThen(starter -> recorded(APPLICATION, starter).<IO<Stopper<IO<?>>>>start())
                        .andThen(stop -> io(() -> getRuntime()
                            .addShutdownHook(new Thread(() -> transformation
-                               .apply(stop.<IO<Unit>>stop())))))
+                               .apply(stopping.apply(stop))))))
                        .apply(INSTANCE));
     }
 
-    @RequiredArgsConstructor(access = PRIVATE)
+    /**
+     * Runs an application whose {@link Runner} yields an {@link IO}
+     * asynchronously. The services are resolved, the {@link Runner} is run and
+     * the {@link IO} that it yields is performed on <code>executor</code>, so
+     * that the calling thread is not occupied while the application runs.
+     *
+     * @param <R>         the application return type
+     * @param <A>         the {@link Runner} type
+     * @param application the {@link Kleisli} function representing the
+     *                    application
+     * @param executor    the {@link Executor} on which to run the application
+     * @return a {@link CompletableFuture} of the application's result
+     */
+    public static <R, A extends Runner<R, IO<?>, IO<R>>>
+    CompletableFuture<R> runAsync(Kleisli<App, A, IO<?>, IO<A>> application, Executor executor) {
+        return application.apply(INSTANCE)
+            .flatMap(Runner::run)
+            .unsafePerformAsyncIO(executor);
+    }
+
+    /**
+     * Starts an application asynchronously. The services are resolved and the
+     * {@link Starter} is started on <code>executor</code>. Unlike
+     * <code>start</code>, no shutdown hook is registered, and the caller is
+     * responsible for stopping the application with the {@link Stopper} that
+     * the returned {@link CompletableFuture} yields.
+     *
+     * @param <S>         the {@link Starter} type
+     * @param application the application function
+     * @param executor    the {@link Executor} on which to start the application
+     * @return a {@link CompletableFuture} of the application's {@link Stopper}
+     */
+    public static <S extends Starter<IO<?>>>
+    CompletableFuture<Stopper<IO<?>>> startAsync(Kleisli<App, S, IO<?>, IO<S>> application, Executor executor) {
+        return application.apply(INSTANCE)
+            .flatMap(starter -> recorded(APPLICATION, starter).<IO<Stopper<IO<?>>>>start())
+            .unsafePerformAsyncIO(executor);
+    }
+
+    /**
+     * Runs an application in the same manner as <code>run</code>, while
+     * profiling the resolution of its services. Once the application function
+     * has been applied, and before the {@link Runner} is run, the resulting
+     * {@link StartupProfile} is supplied to <code>onProfile</code>, and the
+     * {@link IO} that it returns is performed.
+     *
+     * @param <R>         carrier type of the application return
+     * @param <F>         {@link Functor} type of the application return
+     * @param <FR>        the application return type
+     * @param <A>         the {@link Runner} type
+     * @param application the {@link Kleisli} function representing the
+     *                    application
+     * @param onProfile   a callback that receives the {@link StartupProfile}
+     * @return the result of running the application
+     */
+    public static <R, F extends Functor<?, F>, FR extends Functor<R, F>, A extends Runner<R, F, FR>>
+    FR run(Kleisli<App, A, IO<?>, IO<A>> application, Fn1<? super StartupProfile, ? extends IO<?>> onProfile) {
+        Profiler profiler = new Profiler();
+        return App.<R, F, FR, A>run(app -> application
+            .apply(app.profiledBy(profiler))
+            .flatMap(runner -> reporting(profiler, onProfile, runner)));
+    }
+
+    /**
+     * Starts an application in the same manner as <code>start</code>, while
+     * profiling the resolution of its services and the time taken to start
+     * it. Once the {@link Starter} has started, the resulting
+     * {@link StartupProfile} is supplied to <code>onProfile</code>, and the
+     * {@link IO} that it returns is performed.
+     *
+     * @param <S>         the {@link Starter} type
+     * @param application the application function
+     * @param onProfile   a callback that receives the {@link StartupProfile}
+     */
+    public static <S extends Starter<IO<?>>>
+    void start(Kleisli<App, S, IO<?>, IO<S>> application, Fn1<? super StartupProfile, ? extends IO<?>> onProfile) {
+        Profiler profiler = new Profiler();
+        App.<Starter<IO<?>>>start(app -> application
+            .apply(app.profiledBy(profiler))
+            .fmap(s -> starter(() -> profiler.starting(s)
+                .<IO<Stopper<IO<?>>>>start()
+                .flatMap(stopper -> reporting(profiler, onProfile, stopper)))));
+    }
+
+    private static <A> IO<A> reporting(Profiler profiler,
+                                       Fn1<? super StartupProfile, ? extends IO<?>> onProfile,
+                                       A a) {
+        return io(profiler::profile).flatMap(profile -> onProfile.apply(profile).fmap(constantly(a)));
+    }
+
+    private static <S> IO<S> performingAsync(IO<S> io, Executor executor) {
+        return io(() -> {
+            try {
+                return io.unsafePerformAsyncIO(executor).join();
+            } catch (CompletionException e) {
+                throw unwrap(e);
+            }
+        });
+    }
+
+    private App profiledBy(Profiler profiler) {
+        return new App(registry, memoizing, just(profiler));
+    }
+
+    private <S> IO<S> profiled(IO<S> io) {
+        return profiler.match(fn0(() -> io), p -> p.resolving(io));
+    }
+
+    private <S> IO<S> resolving(Service<S> service, boolean concurrent) {
+        return profiled(io(() -> new AppServices(concurrent)).flatMap(service::resolveService));
+    }
+
+    /**
+     * The state of one resolution. The handles being resolved are marked in a
+     * bitset indexed by their registry slots, and are stacked in the order in
+     * which they were entered so that the marks can be cleared on the way
+     * out. The state is mutable and is only ever used by one thread at a
+     * time; anything that resolves from it later or concurrently works on a
+     * fork. A resolution that fails leaves its marks behind, so the only
+     * resolutions that may be performed again after failing, the memoized
+     * ones, restore the state that they started from.
+     */
     private final class AppServices implements Services {
-        private final StrictStack<ServiceHandle<?>> resolving;
+        private final long[]             resolving;
+        private final Maybe<Memo>        memo;
+        private final boolean            concurrent;
+        private       Registry.Slot<?>[] path;
+        private       int                depth;
+
+        private AppServices(boolean concurrent) {
+            this(new long[(registry.size() + 63) >>> 6],
+                 memoizing ? Maybe.just(new Memo()) : Maybe.<Memo>nothing(),
+                 concurrent,
+                 new Registry.Slot<?>[16],
+                 0);
+        }
+
+        private AppServices(long[] resolving,
+                            Maybe<Memo> memo,
+                            boolean concurrent,
+                            Registry.Slot<?>[] path,
+                            int depth) {
+            this.resolving = resolving;
+            this.memo = memo;
+            this.concurrent = concurrent;
+            this.path = path;
+            this.depth = depth;
+        }
 
         @Override
         public <S> IO<S> resolve(ServiceHandle<S> handle) {
-            return find(eq(handle), resolving)
-                .<IO<S>>match(
-                    fn0(() -> view(valueAt(handle), registry).match(
-                        fn0(() -> throwing(new ServiceException("Binding missing", handle))),
-                        s -> s.resolveService(new AppServices(resolving.cons(handle))))),
-                    dupe -> throwing(new ServiceException("Dependency cycle detected", handle)))
-                .coerce();
+            return registry.lookup(handle).<IO<S>>match(
+                fn0(() -> throwing(new ServiceException("Binding missing", handle))),
+                slot -> recordingDependency(handle, memo.filter(m -> !slot.getService().requestScoped()).match(
+                    fn0(() -> resolveHandle(handle, slot)),
+                    m -> memoized(m, handle, slot))));
+        }
+
+        @Override
+        public Services fork() {
+            return new AppServices(resolving.clone(), memo, concurrent, path.clone(), depth);
+        }
+
+        @Override
+        public Services branch() {
+            return concurrent ? fork() : this;
+        }
+
+        @Override
+        public <A> IO<A> retryable(IO<A> resolution) {
+            return io(() -> depth).flatMap(enclosing -> resolution
+                .catchError(t -> io(() -> leave(enclosing)).flatMap(u -> throwing(t))));
+        }
+
+        private <S> IO<S> resolveHandle(ServiceHandle<S> handle, Registry.Slot<S> slot) {
+            IO<S> resolved = io(() -> enter(slot)).flatMap(enclosing -> Recording
+                .resolving(handle, slot.getService().resolveService(this))
+                .fmap(s -> {
+                    leave(enclosing);
+                    return s;
+                }));
+            return profiler.match(fn0(() -> resolved), p -> p.resolvingHandle(handle, resolved));
+        }
+
+        private int enter(Registry.Slot<?> slot) throws ServiceException {
+            int index = slot.getIndex();
+            if ((resolving[index >>> 6] & 1L << index) != 0)
+                throw new ServiceException("Dependency cycle detected", slot.getBinding().getHandle());
+            resolving[index >>> 6] |= 1L << index;
+            if (depth == path.length)
+                path = Arrays.copyOf(path, depth * 2);
+            path[depth] = slot;
+            return depth++;
+        }
+
+        private void leave(int enclosing) {
+            while (depth > enclosing) {
+                int index = path[--depth].getIndex();
+                resolving[index >>> 6] &= ~(1L << index);
+                path[depth] = null;
+            }
+        }
+
+        private Maybe<ServiceHandle<?>> dependent() {
+            return depth == 0
+                   ? Maybe.<ServiceHandle<?>>nothing()
+                   : Maybe.<ServiceHandle<?>>just(path[depth - 1].getBinding().getHandle());
+        }
+
+        private <S> IO<S> recordingDependency(ServiceHandle<S> handle, IO<S> resolved) {
+            return profiler.match(fn0(() -> resolved),
+                                  p -> io(() -> p.dependency(dependent(), handle)).flatMap(u -> resolved));
+        }
+
+        private <S> IO<S> memoized(Memo memo, ServiceHandle<S> handle, Registry.Slot<S> slot) {
+            return io(() -> memo.claim(handle)).flatMap(claim -> claim.<IO<S>>match(
+                cell -> io(() -> memo.await(resolving, slot, cell)),
+                cell -> retryable(resolveHandle(handle, slot))
+                    .fmap(s -> memo.resolved(cell, s))
+                    .catchError(t -> io(() -> memo.failed(handle, cell, t)).flatMap(u -> throwing(t)))));
+        }
+    }
+
+    /**
+     * The memoized resolutions shared by every branch of one resolution. The
+     * first branch to reference a handle claims its cell and resolves it, and
+     * any other branch that references the handle waits for the cell to be
+     * completed. A cell whose resolution fails is discarded, so that the
+     * handle may be resolved again. A branch that waits holds up each of the
+     * handles that it is resolving until the cell it waits for is complete,
+     * so a branch that would wait, through any chain of such waits, for one of
+     * its own handles fails with a dependency cycle instead.
+     */
+    private static final class Memo {
+        private final Map<ServiceHandle<?>, CompletableFuture<?>> cells = new ConcurrentHashMap<>();
+        private final List<Wait>                                  waits = new ArrayList<>();
+
+        @SuppressWarnings("unchecked")
+        <S> Either<CompletableFuture<S>, CompletableFuture<S>> claim(ServiceHandle<S> handle) {
+            CompletableFuture<S> claimed  = new CompletableFuture<>();
+            CompletableFuture<?> existing = cells.putIfAbsent(handle, claimed);
+            return existing == null
+                   ? right(claimed)
+                   : left((CompletableFuture<S>) existing);
+        }
+
+        <S> S resolved(CompletableFuture<S> cell, S s) {
+            cell.complete(s);
+            return s;
+        }
+
+        void failed(ServiceHandle<?> handle, CompletableFuture<?> cell, Throwable t) {
+            cells.remove(handle, cell);
+            cell.completeExceptionally(t);
+        }
+
+        <S> S await(long[] resolving, Registry.Slot<S> slot, CompletableFuture<S> cell) throws Throwable {
+            Wait wait = cell.isDone() ? null : waiting(resolving, slot);
+            try {
+                return cell.join();
+            } catch (CompletionException e) {
+                throw unwrap(e);
+            } finally {
+                if (wait != null)
+                    done(wait);
+            }
+        }
+
+        private synchronized Wait waiting(long[] resolving, Registry.Slot<?> slot) throws ServiceException {
+            long[] reached = new long[resolving.length];
+            mark(reached, slot.getIndex());
+            boolean grew = true;
+            while (grew) {
+                grew = false;
+                for (Wait wait : waits) {
+                    if (!marked(reached, wait.slot) && intersect(wait.resolving, reached)) {
+                        mark(reached, wait.slot);
+                        grew = true;
+                    }
+                }
+            }
+            if (intersect(resolving, reached))
+                throw new ServiceException("Dependency cycle detected", slot.getBinding().getHandle());
+            Wait wait = new Wait(resolving, slot.getIndex());
+            waits.add(wait);
+            return wait;
+        }
+
+        private synchronized void done(Wait wait) {
+            waits.remove(wait);
+        }
+
+        private static void mark(long[] bits, int index) {
+            bits[index >>> 6] |= 1L << index;
+        }
+
+        private static boolean marked(long[] bits, int index) {
+            return (bits[index >>> 6] & 1L << index) != 0;
+        }
+
+        private static boolean intersect(long[] a, long[] b) {
+            for (int i = 0; i < a.length; i++)
+                if ((a[i] & b[i]) != 0)
+                    return true;
+            return false;
+        }
+
+        @RequiredArgsConstructor(access = PRIVATE)
+        private static final class Wait {
+            private final long[] resolving;
+            private final int    slot;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.app;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * The pairing of a {@link Service} with the {@link ServiceHandle} that it is
+ * bound to. <code>Binding</code>s allow many services to be bound to an
+ * {@link App} in one step using <code>bindAll</code>.
+ *
+ * @param <S> the service type
+ */
+@Getter
+@RequiredArgsConstructor(access = PRIVATE)
+public final class Binding<S> {
+    private final ServiceHandle<S> handle;
+    private final Service<S>       service;
+
+    /**
+     * Pairs a {@link Service} with a {@link ServiceHandle}.
+     *
+     * @param <S>     the service type
+     * @param handle  the {@link ServiceHandle} to bind the service to
+     * @param service the {@link Service} being bound
+     * @return a <code>Binding</code>
+     */
+    public static <S> Binding<S> binding(ServiceHandle<S> handle, Service<S> service) {
+        return new Binding<>(handle, service);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.app;
+
+import com.jnape.palatable.lambda.adt.Maybe;
+import com.jnape.palatable.lambda.adt.Try;
+import com.jnape.palatable.lambda.io.IO;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import static com.jnape.palatable.lambda.adt.Maybe.just;
+import static com.jnape.palatable.lambda.adt.Maybe.nothing;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Helpers for performing several {@link IO}s at once and gathering their
+ * outcomes.
+ */
+@NoArgsConstructor(access = PRIVATE)
+final class Concurrently {
+
+    /**
+     * Performs every {@link IO} asynchronously on <code>executor</code>,
+     * completing once all of them have finished, whether or not any of them
+     * fail. No thread waits for the outcomes, so compositions may be nested
+     * on the same bounded <code>executor</code>.
+     */
+    static <A> CompletableFuture<List<Try<A>>> performAll(Executor executor, List<? extends IO<A>> ios) {
+        List<CompletableFuture<Try<A>>> futures = new ArrayList<>(ios.size());
+        for (IO<A> io : ios)
+            futures.add(io.unsafePerformAsyncIO(executor)
+                            .handle((a, t) -> t == null ? Try.<A>success(a) : Try.<A>failure(unwrap(t))));
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(u -> {
+            List<Try<A>> results = new ArrayList<>(futures.size());
+            for (CompletableFuture<Try<A>> future : futures)
+                results.add(future.join());
+            return results;
+        });
+    }
+
+    static <A> List<A> successes(List<Try<A>> results) {
+        List<A> successes = new ArrayList<>(results.size());
+        for (Try<A> result : results)
+            result.match(t -> false, successes::add);
+        return successes;
+    }
+
+    /**
+     * The first failure among <code>results</code>, with any later failures
+     * attached to it as suppressed exceptions.
+     */
+    static Maybe<Throwable> failure(List<? extends Try<?>> results) {
+        Throwable first = null;
+        for (Try<?> result : results) {
+            Throwable failure = result.<Throwable>match(t -> t, a -> null);
+            if (failure != null) {
+                if (first == null)
+                    first = failure;
+                else
+                    first.addSuppressed(failure);
+            }
+        }
+        return first == null ? nothing() : just(first);
+    }
+
+    /**
+     * Performs <code>io</code> asynchronously on <code>executor</code>,
+     * completing with <code>nothing</code> if it has not finished within
+     * <code>timeout</code>. No thread waits for the outcome, so the
+     * {@link IO} may be performed on the same bounded <code>executor</code>
+     * as whatever depends on it. An {@link IO} that does not finish in time
+     * is left running.
+     */
+    static <A> CompletableFuture<Maybe<Try<A>>> within(Executor executor, IO<A> io, Duration timeout) {
+        return io.unsafePerformAsyncIO(executor)
+            .handle((a, t) -> t == null ? Try.<A>success(a) : Try.<A>failure(unwrap(t)))
+            .thenApply(Maybe::just)
+            .completeOnTimeout(Maybe.<Try<A>>nothing(), timeout.toNanos(), NANOSECONDS);
+    }
+
+    static Throwable unwrap(Throwable t) {
+        Throwable cause = t;
+        while (cause instanceof CompletionException && cause.getCause() != null)
+            cause = cause.getCause();
+        return cause;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.app;
+
+import com.jnape.palatable.lambda.io.IO;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.jnape.palatable.lambda.io.IO.io;
+import static lombok.AccessLevel.PACKAGE;
+import static org.movealong.sly.app.Concurrently.unwrap;
+
+/**
+ * A reference to a service object that is only resolved when it is first
+ * used. A <code>Deferred</code> is produced by <code>lazy</code> in
+ * {@link Service}, and is resolved in the context of the service that
+ * depends on it, so a missing binding or a dependency cycle is reported when
+ * the reference is first used rather than when the dependent service is
+ * resolved.
+ * <p>
+ * The service object is resolved at most once, even when several threads use
+ * the reference at the same time. The first thread to use it resolves it
+ * without holding a lock, and the others wait for the outcome. The outcome of
+ * that resolution, whether it succeeds or fails, is the outcome of every use
+ * of the reference. A use from within the resolution itself, on the thread
+ * that is resolving it, is a dependency cycle.
+ *
+ * @param <S> the service type
+ * @see Service#lazy(ServiceHandle)
+ */
+@RequiredArgsConstructor(access = PACKAGE)
+public final class Deferred<S> {
+    private final    ServiceHandle<S>                      handle;
+    private final    IO<S>                                 resolution;
+    private final    AtomicReference<CompletableFuture<S>> outcome = new AtomicReference<>();
+    private volatile Thread                                resolver;
+
+    /**
+     * Yields the service object, resolving it if it has not yet been
+     * resolved.
+     *
+     * @return the service object, within {@link IO}
+     */
+    public IO<S> get() {
+        return io(this::outcome);
+    }
+
+    private S outcome() throws Throwable {
+        CompletableFuture<S> result = outcome.get();
+        if (result == null) {
+            CompletableFuture<S> claimed = new CompletableFuture<>();
+            if (outcome.compareAndSet(null, claimed))
+                resolve(claimed);
+            result = outcome.get();
+        } else if (!result.isDone() && resolver == Thread.currentThread()) {
+            throw new ServiceException("Dependency cycle detected", handle);
+        }
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private void resolve(CompletableFuture<S> claimed) {
+        resolver = Thread.currentThread();
+        try {
+            claimed.complete(resolution.unsafePerformIO());
+        } catch (Throwable t) {
+            claimed.completeExceptionally(t);
+        } finally {
+            resolver = null;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.app;
+
+import com.jnape.palatable.lambda.adt.Unit;
+import com.jnape.palatable.lambda.functions.Fn1;
+import com.jnape.palatable.lambda.io.IO;
+import com.jnape.palatable.lambda.monad.Monad;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+import static com.jnape.palatable.lambda.adt.Unit.UNIT;
+import static com.jnape.palatable.lambda.io.IO.io;
+import static com.jnape.palatable.lambda.io.IO.throwing;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * A bounded pool of service objects that are expensive to construct but are
+ * not safe to share between threads. A <code>Pool</code> is produced by
+ * <code>pooled</code> in {@link Service}, and constructs its instances on
+ * demand, up to its size, from the pooled <code>Service</code>. An instance
+ * is used by one borrower at a time, and a borrower waits when every instance
+ * is in use.
+ * <p>
+ * A <code>Pool</code> is also a {@link Starter}. The {@link Stopper} that it
+ * yields closes the pool, closing the idle instances at once and each
+ * borrowed instance when it is returned, so that pooled instances are closed
+ * when the application shuts down.
+ *
+ * @param <S> the service type
+ * @see Service#pooled(int, Service, Fn1)
+ */
+public final class Pool<S> implements Starter<IO<?>> {
+    private final    IO<S>                           construction;
+    private final    Fn1<? super S, ? extends IO<?>> close;
+    private final    Semaphore                       permits;
+    private final    Queue<Idle<S>>                  idle = new ConcurrentLinkedQueue<>();
+    private volatile boolean                         closed;
+
+    Pool(int size, IO<S> construction, Fn1<? super S, ? extends IO<?>> close) {
+        if (size < 1)
+            throw new IllegalArgumentException("Pool size must be positive: " + size);
+        this.construction = construction;
+        this.close = close;
+        this.permits = new Semaphore(size);
+    }
+
+    /**
+     * Borrows an instance for the duration of <code>fn</code>, returning it
+     * to the pool afterwards whether or not <code>fn</code> succeeds.
+     *
+     * @param <A> the result type
+     * @param fn  the function that uses the instance
+     * @return the result of <code>fn</code>
+     */
+    public <A> IO<A> borrowing(Fn1<? super S, ? extends IO<A>> fn) {
+        return borrow().flatMap(s -> fn.apply(s)
+            .catchError(t -> giveBack(s).flatMap(u -> throwing(t)))
+            .flatMap(a -> giveBack(s).fmap(u -> a)));
+    }
+
+    /**
+     * Borrows an instance, waiting for one to be returned if every instance
+     * is in use. The instance must be returned with <code>giveBack</code>
+     * once the borrower is finished with it.
+     *
+     * @return an instance, within {@link IO}
+     */
+    public IO<S> borrow() {
+        return io(() -> {
+            if (closed)
+                throw new IllegalStateException("Pool is closed");
+            permits.acquire();
+            if (closed) {
+                permits.release();
+                throw new IllegalStateException("Pool is closed");
+            }
+            Idle<S> returned = idle.poll();
+            if (returned != null)
+                return returned.instance;
+            try {
+                return construction.unsafePerformIO();
+            } catch (Throwable t) {
+                permits.release();
+                throw t;
+            }
+        });
+    }
+
+    /**
+     * Returns a borrowed instance to the pool. An instance that is returned
+     * after the pool has been closed is closed instead.
+     *
+     * @param instance the borrowed instance
+     * @return {@link Unit}, within {@link IO}
+     */
+    public IO<Unit> giveBack(S instance) {
+        return io(() -> {
+            Idle<S> returned = new Idle<>(instance);
+            idle.offer(returned);
+            permits.release();
+            return closed && idle.remove(returned);
+        }).flatMap(closing -> closing ? close.apply(instance).fmap(x -> UNIT) : io(UNIT));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <MS extends Monad<Stopper<IO<?>>, IO<?>>> MS start() {
+        return io(Stopper.<IO<?>>stopper(this::closeAll)).coerce();
+    }
+
+    private IO<Unit> closeAll() {
+        return io(() -> {
+            closed = true;
+            Throwable failure = null;
+            for (Idle<S> returned = idle.poll(); returned != null; returned = idle.poll()) {
+                try {
+                    close.apply(returned.instance).unsafePerformIO();
+                } catch (Throwable t) {
+                    if (failure == null)
+                        failure = t;
+                    else
+                        failure.addSuppressed(t);
+                }
+            }
+            if (failure != null)
+                throw failure;
+            return UNIT;
+        });
+    }
+
+    /**
+     * An idle instance, held by a reference that is only equal to itself, so
+     * that the pool tracks its instances by identity whatever their
+     * <code>equals</code> may say.
+     */
+    @RequiredArgsConstructor(access = PRIVATE)
+    private static final class Idle<S> {
+        private final S instance;
+    }
+}
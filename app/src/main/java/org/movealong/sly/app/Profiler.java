@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.app;
+
+import com.jnape.palatable.lambda.adt.Maybe;
+import com.jnape.palatable.lambda.io.IO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+
+import static com.jnape.palatable.lambda.io.IO.io;
+import static java.lang.System.nanoTime;
+import static java.time.Duration.ofNanos;
+import static java.util.Collections.unmodifiableList;
+import static org.movealong.sly.app.Starter.starter;
+
+/**
+ * Collects the measurements for a {@link StartupProfile} while an application
+ * is resolved and started.
+ */
+final class Profiler {
+    private final Map<ServiceHandle<?>, Stats> stats      = new ConcurrentHashMap<>();
+    private final Set<ServiceHandle<?>>        roots      = ConcurrentHashMap.newKeySet();
+    private final LongAdder                    resolution = new LongAdder();
+    private final LongAdder                    start      = new LongAdder();
+    private final ThreadLocal<Build>           builds     = new ThreadLocal<>();
+
+    void dependency(Maybe<ServiceHandle<?>> dependent, ServiceHandle<?> handle) {
+        stats(handle);
+        dependent.match(u -> roots.add(handle), d -> stats(d).dependencies.add(handle));
+    }
+
+    <S> IO<S> resolvingHandle(ServiceHandle<S> handle, IO<S> io) {
+        Stats handleStats = stats(handle);
+        return io(() -> Build.enter(builds)).flatMap(build -> io.fmap(s -> {
+            long nanos = build.leave(builds);
+            handleStats.constructions.incrementAndGet();
+            handleStats.nanos.add(nanos);
+            handleStats.ownNanos.add(Math.max(nanos - build.dependencies.sum(), 0));
+            return s;
+        }));
+    }
+
+    <S> IO<S> resolving(IO<S> io) {
+        return timed(io, resolution::add);
+    }
+
+    Starter<IO<?>> starting(Starter<IO<?>> starter) {
+        return starter(() -> timed(starter.<IO<Stopper<IO<?>>>>start(), start::add));
+    }
+
+    StartupProfile profile() {
+        List<StartupProfile.Entry> sorted = new ArrayList<>();
+        stats.forEach((handle, s) -> sorted.add(s.entry(handle)));
+        sorted.sort(SLOWEST_FIRST);
+
+        return new StartupProfile(unmodifiableList(sorted),
+                                  unmodifiableList(criticalPath(sorted)),
+                                  ofNanos(resolution.sum()),
+                                  ofNanos(start.sum()));
+    }
+
+    private Stats stats(ServiceHandle<?> handle) {
+        return stats.computeIfAbsent(handle, h -> new Stats());
+    }
+
+    private static final byte UNVISITED = 0;
+    private static final byte VISITING  = 1;
+    private static final byte VISITED   = 2;
+
+    private static final Comparator<StartupProfile.Entry> SLOWEST_FIRST =
+        Comparator.comparing(StartupProfile.Entry::getResolutionTime).reversed();
+
+    /**
+     * Finds the path through the recorded dependencies, starting from a root,
+     * whose services took the longest to resolve in total. Each service is
+     * weighed by its own resolution time, measured per construction without
+     * the dependencies that the construction itself built, and the heaviest
+     * path to each service is computed once, in post-order, by a depth-first
+     * walk that ignores back edges.
+     */
+    private List<StartupProfile.Entry> criticalPath(List<StartupProfile.Entry> nodes) {
+        int                            count = nodes.size();
+        Map<ServiceHandle<?>, Integer> index = new HashMap<>();
+        for (int i = 0; i < count; i++)
+            index.put(nodes.get(i).getHandle(), i);
+
+        int[][] edges = new int[count][];
+        long[]  own   = new long[count];
+        for (int i = 0; i < count; i++) {
+            List<ServiceHandle<?>> dependencies = nodes.get(i).getDependencies();
+            int[]                  targets      = new int[dependencies.size()];
+            int                    size         = 0;
+            for (ServiceHandle<?> dependency : dependencies) {
+                Integer target = index.get(dependency);
+                if (target != null)
+                    targets[size++] = target;
+            }
+            edges[i] = Arrays.copyOf(targets, size);
+            own[i] = stats.get(nodes.get(i).getHandle()).ownNanos.sum();
+        }
+
+        long[] heaviest = new long[count];
+        int[]  next     = new int[count];
+        byte[] state    = new byte[count];
+        int[]  stack    = new int[count];
+        int[]  cursor   = new int[count];
+        int    start    = -1;
+        for (ServiceHandle<?> root : roots) {
+            Integer r = index.get(root);
+            if (r == null)
+                continue;
+            if (state[r] == UNVISITED) {
+                int depth = 0;
+                stack[depth++] = r;
+                state[r] = VISITING;
+                while (depth > 0) {
+                    int current = stack[depth - 1];
+                    if (cursor[current] < edges[current].length) {
+                        int dependency = edges[current][cursor[current]++];
+                        if (state[dependency] == UNVISITED) {
+                            state[dependency] = VISITING;
+                            stack[depth++] = dependency;
+                        }
+                    } else {
+                        next[current] = -1;
+                        for (int dependency : edges[current])
+                            if (state[dependency] == VISITED
+                                && (next[current] < 0 || heaviest[dependency] > heaviest[next[current]]))
+                                next[current] = dependency;
+                        heaviest[current] = own[current] + (next[current] < 0 ? 0 : heaviest[next[current]]);
+                        state[current] = VISITED;
+                        depth--;
+                    }
+                }
+            }
+            if (start < 0 || heaviest[r] > heaviest[start])
+                start = r;
+        }
+
+        List<StartupProfile.Entry> path = new ArrayList<>();
+        for (int i = start; i >= 0; i = next[i])
+            path.add(nodes.get(i));
+        return path;
+    }
+
+    private static <A> IO<A> timed(IO<A> io, LongConsumer record) {
+        return io(() -> nanoTime()).flatMap(begin -> io.fmap(a -> {
+            record.accept(nanoTime() - begin);
+            return a;
+        }));
+    }
+
+    private static final class Stats {
+        private final AtomicInteger         constructions = new AtomicInteger();
+        private final LongAdder             nanos         = new LongAdder();
+        private final LongAdder             ownNanos      = new LongAdder();
+        private final Set<ServiceHandle<?>> dependencies  = ConcurrentHashMap.newKeySet();
+
+        StartupProfile.Entry entry(ServiceHandle<?> handle) {
+            return new StartupProfile.Entry(handle,
+                                            handle.initializedAt(),
+                                            constructions.get(),
+                                            ofNanos(nanos.sum()),
+                                            unmodifiableList(new ArrayList<>(dependencies)));
+        }
+    }
+
+    /**
+     * One construction of a service in progress on the current thread. The
+     * inclusive times of the constructions that it encloses on the same
+     * thread are added to <code>dependencies</code> as they finish, so that
+     * each construction is charged only for the dependencies that it built
+     * itself. A construction that fails never leaves, but the enclosing
+     * construction restores itself as the current one when it does. A
+     * construction that finishes on another thread than it began on, as
+     * parallel resolution may, leaves that thread's current construction
+     * alone.
+     */
+    private static final class Build {
+        private final Build     enclosing;
+        private final Thread    thread;
+        private final long      begin;
+        private final LongAdder dependencies = new LongAdder();
+
+        private Build(Build enclosing) {
+            this.enclosing = enclosing;
+            this.thread = Thread.currentThread();
+            this.begin = nanoTime();
+        }
+
+        static Build enter(ThreadLocal<Build> builds) {
+            Build build = new Build(builds.get());
+            builds.set(build);
+            return build;
+        }
+
+        long leave(ThreadLocal<Build> builds) {
+            long nanos = nanoTime() - begin;
+            if (thread == Thread.currentThread())
+                builds.set(enclosing);
+            if (enclosing != null)
+                enclosing.dependencies.add(nanos);
+            return nanos;
+        }
+    }
+}
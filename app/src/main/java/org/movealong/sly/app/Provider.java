@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.app;
+
+import com.jnape.palatable.lambda.io.IO;
+import lombok.RequiredArgsConstructor;
+
+import static lombok.AccessLevel.PACKAGE;
+
+/**
+ * A reference to the service bound to a handle that resolves the service
+ * object each time it is used. A <code>Provider</code> is produced by
+ * <code>provider</code> in {@link Service}, and resolves in the context of the
+ * service that depends on it, starting each use from a copy of that context so
+ * that uses on different threads do not interfere. This makes it the usual way
+ * for a long-lived service to reach a request-scoped one.
+ *
+ * @param <S> the service type
+ * @see Service#provider(ServiceHandle)
+ * @see RequestScope
+ */
+@RequiredArgsConstructor(access = PACKAGE)
+public final class Provider<S> {
+    private final IO<S> resolution;
+
+    /**
+     * Yields the service object, resolving it anew unless its
+     * <code>Service</code> is memoized.
+     *
+     * @return the service object, within {@link IO}
+     */
+    public IO<S> get() {
+        return resolution;
+    }
+}
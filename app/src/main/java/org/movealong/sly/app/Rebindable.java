@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.app;
+
+import com.jnape.palatable.lambda.adt.Maybe;
+import com.jnape.palatable.lambda.adt.Unit;
+import com.jnape.palatable.lambda.functions.Fn1;
+import com.jnape.palatable.lambda.io.IO;
+import com.jnape.palatable.lambda.monad.Monad;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.jnape.palatable.lambda.adt.Unit.UNIT;
+import static com.jnape.palatable.lambda.io.IO.io;
+import static com.jnape.palatable.lambda.io.IO.throwing;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * An indirection to a service object that can be replaced while the
+ * application is running. A <code>Rebindable</code> is produced by
+ * <code>rebindable</code> in {@link Service}, and dependent services use the
+ * current instance through <code>using</code>. Calling <code>rebind</code>
+ * resolves a new instance in the same context as the original and swaps it
+ * in atomically, so that later uses see the new instance while uses that are
+ * already in flight finish with the old one. Once the last of them has
+ * finished, the old instance is stopped.
+ * <p>
+ * A <code>Rebindable</code> is also a {@link Starter}. The {@link Stopper}
+ * that it yields retires the current instance, which is then stopped once
+ * its uses have finished, and any later use fails.
+ *
+ * @param <S> the service type
+ * @see Service#rebindable(Service, Fn1)
+ */
+public final class Rebindable<S> implements Starter<IO<?>> {
+    private final Services                        services;
+    private final Fn1<? super S, ? extends IO<?>> stop;
+    private final AtomicReference<Generation<S>>  current;
+
+    Rebindable(Services services, Fn1<? super S, ? extends IO<?>> stop, S instance) {
+        this.services = services;
+        this.stop = stop;
+        this.current = new AtomicReference<>(new Generation<>(instance));
+    }
+
+    /**
+     * Uses the current instance for the duration of <code>fn</code>. The
+     * instance is not stopped before <code>fn</code> finishes, even if it is
+     * replaced in the meantime.
+     *
+     * @param <A> the result type
+     * @param fn  the function that uses the instance
+     * @return the result of <code>fn</code>
+     */
+    public <A> IO<A> using(Fn1<? super S, ? extends IO<A>> fn) {
+        return io(this::acquire).flatMap(generation -> fn.apply(generation.instance)
+            .catchError(t -> release(generation).flatMap(u -> throwing(t)))
+            .flatMap(a -> release(generation).fmap(u -> a)));
+    }
+
+    /**
+     * Resolves a new instance from <code>service</code> and swaps it in for
+     * the current one, which is stopped once its uses in flight have finished.
+     * If the <code>Rebindable</code> has been stopped, the new instance is
+     * stopped instead, and the rebind fails.
+     *
+     * @param service the <code>Service</code> for the new instance
+     * @return {@link Unit}, within {@link IO}
+     */
+    public IO<Unit> rebind(Service<S> service) {
+        return io(() -> services.fork()).flatMap(service::resolveService)
+            .flatMap(instance -> swap(new Generation<>(instance)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <MS extends Monad<Stopper<IO<?>>, IO<?>>> MS start() {
+        return io(Stopper.<IO<?>>stopper(() -> io(() -> current.getAndSet(null)).flatMap(this::retire))).coerce();
+    }
+
+    private Generation<S> acquire() {
+        for (;;) {
+            Generation<S> generation = current.get();
+            if (generation == null)
+                throw new IllegalStateException("Rebindable service is stopped");
+            if (generation.acquire())
+                return generation;
+        }
+    }
+
+    private IO<Unit> swap(Generation<S> next) {
+        return io(() -> {
+            for (Generation<S> previous = current.get(); previous != null; previous = current.get())
+                if (current.compareAndSet(previous, next))
+                    return Maybe.just(previous);
+            return Maybe.<Generation<S>>nothing();
+        }).flatMap(previous -> previous.<IO<Unit>>match(
+            u -> release(next).flatMap(x -> throwing(new IllegalStateException("Rebindable service is stopped"))),
+            this::release));
+    }
+
+    private IO<Unit> retire(Generation<S> generation) {
+        return generation == null ? io(UNIT) : release(generation);
+    }
+
+    private IO<Unit> release(Generation<S> generation) {
+        return io(generation::release)
+            .flatMap(last -> last ? stop.apply(generation.instance).fmap(x -> UNIT) : io(UNIT));
+    }
+
+    @RequiredArgsConstructor(access = PRIVATE)
+    private static final class Generation<S> {
+        private final S             instance;
+        private final AtomicInteger users = new AtomicInteger(1);
+
+        boolean acquire() {
+            for (int n = users.get(); n > 0; n = users.get())
+                if (users.compareAndSet(n, n + 1))
+                    return true;
+            return false;
+        }
+
+        boolean release() {
+            return users.decrementAndGet() == 0;
+        }
+    }
+}
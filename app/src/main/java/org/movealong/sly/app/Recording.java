@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.app;
+
+import com.jnape.palatable.lambda.adt.Unit;
+import com.jnape.palatable.lambda.functions.Fn0;
+import com.jnape.palatable.lambda.io.IO;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import lombok.NoArgsConstructor;
+
+import static com.jnape.palatable.lambda.io.IO.io;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * JDK Flight Recorder events for the lifecycle of an application. Each helper
+ * checks whether its event is enabled before wrapping the {@link IO} that it
+ * is given, so that nothing beyond that check is added when no recording is
+ * in progress.
+ */
+@NoArgsConstructor(access = PRIVATE)
+final class Recording {
+    private static final EventType RESOLVE = EventType.getEventType(ResolveEvent.class);
+    private static final EventType START   = EventType.getEventType(StartEvent.class);
+    private static final EventType STOP    = EventType.getEventType(StopEvent.class);
+
+    static <A> IO<A> resolving(ServiceHandle<?> handle, IO<A> io) {
+        return RESOLVE.isEnabled() ? recorded(() -> new ResolveEvent(handle), io) : io;
+    }
+
+    static IO<Stopper<IO<?>>> starting(String component, IO<Stopper<IO<?>>> io) {
+        return START.isEnabled() ? recorded(() -> new StartEvent(component), io) : io;
+    }
+
+    static IO<Unit> stopping(String component, IO<Unit> io) {
+        return STOP.isEnabled() ? recorded(() -> new StopEvent(component), io) : io;
+    }
+
+    private static <A> IO<A> recorded(Fn0<? extends Event> event, IO<A> io) {
+        return io(() -> {
+            Event e = event.apply();
+            e.begin();
+            return e;
+        }).flatMap(e -> io.fmap(a -> {
+            e.commit();
+            return a;
+        }));
+    }
+
+    @Name("org.movealong.sly.app.Resolve")
+    @Label("Service Resolution")
+    @Category({"Sly", "Application"})
+    @Description("Construction of the service bound to a handle")
+    static final class ResolveEvent extends Event {
+        @Label("Handle")
+        int    handle;
+        @Label("Initialized At")
+        String initializedAt;
+
+        ResolveEvent(ServiceHandle<?> handle) {
+            this.handle = handle.ordinal();
+            this.initializedAt = String.valueOf(handle.initializedAt());
+        }
+    }
+
+    @Name("org.movealong.sly.app.Start")
+    @Label("Component Start")
+    @Category({"Sly", "Application"})
+    @Description("Start of an application component by its Starter")
+    static final class StartEvent extends Event {
+        @Label("Component")
+        String component;
+
+        StartEvent(String component) {
+            this.component = component;
+        }
+    }
+
+    @Name("org.movealong.sly.app.Stop")
+    @Label("Component Stop")
+    @Category({"Sly", "Application"})
+    @Description("Stop of an application component by its Stopper")
+    static final class StopEvent extends Event {
+        @Label("Component")
+        String component;
+
+        StopEvent(String component) {
+            this.component = component;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.app;
+
+import com.jnape.palatable.lambda.adt.Maybe;
+import com.jnape.palatable.lambda.io.IO;
+import com.jnape.palatable.shoki.impl.HashMap;
+import com.jnape.palatable.shoki.impl.StrictQueue;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import static com.jnape.palatable.lambda.io.IO.io;
+import static com.jnape.palatable.shoki.impl.HashMap.hashMap;
+import static com.jnape.palatable.shoki.impl.StrictQueue.strictQueue;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * The bindings of an {@link App}. Each binding occupies a {@link Slot}, a
+ * dense index that is local to the application and is assigned in the order
+ * in which the bindings are added, so that the state of a resolution can be
+ * kept in arrays sized by the number of bindings. The slots are held in a
+ * persistent map keyed by {@link ServiceHandle}, so adding a binding shares
+ * the existing bindings rather than copying them, and neither binding nor
+ * lookup depends on how many handles have been created elsewhere.
+ */
+@RequiredArgsConstructor(access = PRIVATE)
+final class Registry {
+    private static final Registry EMPTY = new Registry(hashMap(), strictQueue(), 0);
+
+    private final HashMap<ServiceHandle<?>, Slot<?>> slots;
+    private final StrictQueue<Binding<?>>            bindings;
+    private final int                                size;
+
+    static Registry emptyRegistry() {
+        return EMPTY;
+    }
+
+    @SuppressWarnings("unchecked")
+    <S> Maybe<Slot<S>> lookup(ServiceHandle<S> handle) {
+        return slots.get(handle).fmap(slot -> (Slot<S>) slot);
+    }
+
+    int size() {
+        return size;
+    }
+
+    IO<Registry> bindAll(Iterable<? extends Binding<?>> newBindings) {
+        return io(() -> {
+            HashMap<ServiceHandle<?>, Slot<?>> bound = slots;
+            StrictQueue<Binding<?>>            queue = bindings;
+            int                                count = size;
+            for (Binding<?> binding : newBindings) {
+                if (bound.contains(binding.getHandle()))
+                    throw new ServiceException("Binding is a duplicate", binding.getHandle());
+                bound = bound.put(binding.getHandle(), new Slot<>(count++, binding));
+                queue = queue.snoc(binding);
+            }
+            return new Registry(bound, queue, count);
+        });
+    }
+
+    /**
+     * The bindings, each at the index of its {@link Slot}.
+     */
+    Binding<?>[] bindings() {
+        Binding<?>[] result = new Binding<?>[size];
+        int          i      = 0;
+        for (Binding<?> binding : bindings)
+            result[i++] = binding;
+        return result;
+    }
+
+    /**
+     * A binding together with its index among the bindings of an
+     * {@link App}.
+     *
+     * @param <S> the service type
+     */
+    @Getter
+    @RequiredArgsConstructor(access = PRIVATE)
+    static final class Slot<S> {
+        private final int        index;
+        private final Binding<S> binding;
+
+        Service<S> getService() {
+            return binding.getService();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.app;
+
+import com.jnape.palatable.lambda.io.IO;
+import lombok.NoArgsConstructor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.jnape.palatable.lambda.io.IO.io;
+import static com.jnape.palatable.lambda.io.IO.memoize;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * The scope of a single request. Services that are made request-scoped with
+ * <code>requestScoped</code> in {@link Service} are resolved at most once
+ * within a request, and afresh for each new request. A request is entered by
+ * performing an {@link IO} through <code>within</code>, and request-scoped
+ * services are typically reached from longer-lived services through a
+ * {@link Provider}.
+ * <p>
+ * The current request is bound to the thread that performs the
+ * <code>within</code> {@link IO}, and is restored to the enclosing request,
+ * if any, when it finishes. Request-scoped services must therefore be
+ * resolved on that thread.
+ *
+ * @see Service#requestScoped(Service)
+ * @see Service#provider(ServiceHandle)
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class RequestScope {
+    private static final ThreadLocal<Map<Service<?>, IO<?>>> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Performs <code>request</code> within a new request scope.
+     *
+     * @param <A>     the result type
+     * @param request the {@link IO} that handles the request
+     * @return the result of <code>request</code>
+     */
+    public static <A> IO<A> within(IO<A> request) {
+        return io(() -> {
+            Map<Service<?>, IO<?>> enclosing = CURRENT.get();
+            CURRENT.set(new HashMap<>());
+            try {
+                return request.unsafePerformIO();
+            } finally {
+                if (enclosing == null)
+                    CURRENT.remove();
+                else
+                    CURRENT.set(enclosing);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    static <S> IO<S> resolving(Service<S> service, Services services) {
+        return io(() -> {
+            Map<Service<?>, IO<?>> request = CURRENT.get();
+            if (request == null)
+                throw new IllegalStateException("No request is in scope");
+            IO<?> resolved = request.get(service);
+            if (resolved == null) {
+                resolved = memoize(services.retryable(service.resolveService(services)));
+                request.put(service, resolved);
+            }
+            return (IO<S>) resolved;
+        }).flatMap(resolved -> resolved);
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.app;
+
+import com.jnape.palatable.lambda.functions.specialized.Kleisli;
+import com.jnape.palatable.lambda.io.IO;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.jnape.palatable.lambda.functions.Fn0.fn0;
+import static com.jnape.palatable.lambda.io.IO.io;
+import static com.jnape.palatable.lambda.io.IO.throwing;
+import static lombok.AccessLevel.PRIVATE;
+import static org.movealong.sly.app.Concurrently.unwrap;
+
+/**
+ * A validated, immutable plan for resolving a service. A plan is produced by
+ * <code>compile</code> in {@link App}, which walks the bound dependency graph
+ * once, failing with a {@link ServiceException} if any declared dependency is
+ * missing a binding or if the declared dependencies form a cycle. The plan
+ * may then be resolved any number of times. Each resolution constructs every
+ * service that the plan's service depends on exactly once, in dependency
+ * order, and addresses the resolved service objects by array index rather
+ * than by looking up the bindings.
+ * <p>
+ * Dependencies that a {@link Service} only references from within a
+ * resolution function are not known until that function runs. They are
+ * resolved on demand from the same plan, and are only validated at that time.
+ * <p>
+ * A request-scoped service is never resolved along with the plan, since it can
+ * only be resolved within a {@link RequestScope}. It must be reached through a
+ * {@link Provider}, and compilation fails if any service in the plan declares
+ * a dependency on it.
+ * <p>
+ * Within one resolution, each service is constructed by the first thread that
+ * needs it, and a thread that needs a service under construction on another
+ * thread waits for that construction alone. No lock is held while a service
+ * is constructed, and a dependency cycle is detected when a thread needs a
+ * service that it is itself constructing. A construction that fails is
+ * attempted again the next time the service is needed. Request-scoped
+ * services are constructed anew in each request.
+ *
+ * @param <S> the service type
+ * @see App#compile(Kleisli, Service)
+ */
+@RequiredArgsConstructor(access = PRIVATE)
+public final class ResolutionPlan<S> {
+    private static final byte UNRESOLVED = 0;
+    private static final byte RESOLVING  = 1;
+    private static final byte RESOLVED   = 2;
+
+    private final Service<S>         service;
+    private final Registry           registry;
+    private final ServiceHandle<?>[] handles;
+    private final Service<?>[]       services;
+    private final int[]              order;
+
+    IO<S> resolve() {
+        return io(() -> new Resolution().resolve());
+    }
+
+    static <S> ResolutionPlan<S> compile(Registry registry, Service<S> service) throws ServiceException {
+        Binding<?>[]       bindings = registry.bindings();
+        int                count    = bindings.length;
+        ServiceHandle<?>[] handles  = new ServiceHandle<?>[count];
+        Service<?>[]       services = new Service<?>[count];
+        for (int slot = 0; slot < count; slot++) {
+            handles[slot] = bindings[slot].getHandle();
+            services[slot] = bindings[slot].getService();
+        }
+
+        int[][] edges = new int[count][];
+        for (int i = 0; i < count; i++)
+            edges[i] = dependencySlots(registry, services[i]);
+
+        boolean[] reachable = reachable(dependencySlots(registry, service), edges);
+        for (int i = 0; i < count; i++)
+            if (reachable[i] && services[i].requestScoped())
+                throw new ServiceException("Request-scoped service is a declared dependency; use a provider",
+                                           handles[i]);
+        int[] order = new int[count];
+        int   size  = 0;
+        for (int i : topologicalOrder(handles, edges))
+            if (reachable[i])
+                order[size++] = i;
+
+        return new ResolutionPlan<>(service, registry, handles, services, Arrays.copyOf(order, size));
+    }
+
+    private static int[] dependencySlots(Registry registry, Service<?> service) throws ServiceException {
+        int count = 0;
+        for (ServiceHandle<?> ignored : service.dependencies())
+            count++;
+        int[] dependencies = new int[count];
+        int   i            = 0;
+        for (ServiceHandle<?> handle : service.dependencies())
+            dependencies[i++] = registry.lookup(handle)
+                .orElseThrow(() -> new ServiceException("Binding missing", handle))
+                .getIndex();
+        return dependencies;
+    }
+
+    static int[] topologicalOrder(ServiceHandle<?>[] handles, int[][] edges) throws ServiceException {
+        int[]  order = new int[edges.length];
+        int    size  = 0;
+        byte[] state = new byte[edges.length];
+        int[]  stack = new int[edges.length];
+        int[]  next  = new int[edges.length];
+        for (int root = 0; root < edges.length; root++) {
+            if (state[root] != UNRESOLVED)
+                continue;
+            int depth = 0;
+            stack[0] = root;
+            next[0] = 0;
+            state[root] = RESOLVING;
+            while (depth >= 0) {
+                int current = stack[depth];
+                if (next[depth] < edges[current].length) {
+                    int dependency = edges[current][next[depth]++];
+                    if (state[dependency] == RESOLVING)
+                        throw new ServiceException("Dependency cycle detected", handles[dependency]);
+                    if (state[dependency] == UNRESOLVED) {
+                        state[dependency] = RESOLVING;
+                        stack[++depth] = dependency;
+                        next[depth] = 0;
+                    }
+                } else {
+                    state[current] = RESOLVED;
+                    order[size++] = current;
+                    depth--;
+                }
+            }
+        }
+        return order;
+    }
+
+    private static boolean[] reachable(int[] roots, int[][] edges) {
+        boolean[] reachable = new boolean[edges.length];
+        int[]     stack     = new int[edges.length];
+        int       depth     = 0;
+        for (int root : roots) {
+            if (!reachable[root]) {
+                reachable[root] = true;
+                stack[depth++] = root;
+            }
+        }
+        while (depth > 0) {
+            for (int dependency : edges[stack[--depth]]) {
+                if (!reachable[dependency]) {
+                    reachable[dependency] = true;
+                    stack[depth++] = dependency;
+                }
+            }
+        }
+        return reachable;
+    }
+
+    private final class Resolution implements Services {
+        private final AtomicReferenceArray<CompletableFuture<Object>> cells    =
+            new AtomicReferenceArray<>(services.length);
+        private final ThreadLocal<boolean[]>                          building =
+            ThreadLocal.withInitial(() -> new boolean[services.length]);
+
+        S resolve() throws Throwable {
+            for (int slot : order)
+                resolveSlot(slot);
+            return service.resolveService(this).unsafePerformIO();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <A> IO<A> resolve(ServiceHandle<A> handle) {
+            return registry.lookup(handle).match(
+                fn0(() -> throwing(new ServiceException("Binding missing", handle))),
+                slot -> io(() -> (A) resolveSlot(slot.getIndex())));
+        }
+
+        private Object resolveSlot(int slot) throws Throwable {
+            return services[slot].requestScoped()
+                   ? construct(slot)
+                   : resolveShared(slot);
+        }
+
+        private Object resolveShared(int slot) throws Throwable {
+            boolean[] constructing = building.get();
+            if (constructing[slot])
+                throw new ServiceException("Dependency cycle detected", handles[slot]);
+            while (true) {
+                CompletableFuture<Object> cell = cells.get(slot);
+                if (cell != null) {
+                    try {
+                        return cell.join();
+                    } catch (CompletionException e) {
+                        throw unwrap(e);
+                    }
+                }
+                CompletableFuture<Object> claimed = new CompletableFuture<>();
+                if (cells.compareAndSet(slot, null, claimed))
+                    return build(slot, claimed, constructing);
+            }
+        }
+
+        private Object build(int slot, CompletableFuture<Object> cell, boolean[] constructing) {
+            constructing[slot] = true;
+            try {
+                Object value = construct(slot);
+                cell.complete(value);
+                return value;
+            } catch (Throwable t) {
+                cells.compareAndSet(slot, cell, null);
+                cell.completeExceptionally(t);
+                throw t;
+            } finally {
+                constructing[slot] = false;
+            }
+        }
+
+        private Object construct(int slot) {
+            return Recording.resolving(handles[slot], services[slot].resolveService(this)).unsafePerformIO();
+        }
+    }
+}
@@ -29,13 +29,17 @@ import com.jnape.palatable.lambda.functor.builtin.Lazy;
 import com.jnape.palatable.lambda.io.IO;
 import com.jnape.palatable.lambda.monad.Monad;
 import com.jnape.palatable.lambda.monad.MonadRec;
-import com.jnape.palatable.lambda.monad.transformer.builtin.ReaderT;
-import lombok.RequiredArgsConstructor;
+import com.jnape.palatable.shoki.impl.StrictQueue;
+import lombok.AllArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import static com.jnape.palatable.lambda.functions.builtin.fn1.Constantly.constantly;
 import static com.jnape.palatable.lambda.functions.builtin.fn2.$.$;
+import static com.jnape.palatable.lambda.io.IO.io;
 import static com.jnape.palatable.lambda.monad.Monad.join;
-import static com.jnape.palatable.lambda.monad.transformer.builtin.ReaderT.readerT;
+import static com.jnape.palatable.shoki.impl.StrictQueue.strictQueue;
 import static lombok.AccessLevel.PRIVATE;
 
 /**
@@ -44,17 +48,67 @@ import static lombok.AccessLevel.PRIVATE;
  * <code>Service</code>s require the use of an {@link App} in order to perform
  * this resolution. A <i>pure</i> <code>Service</code> is one that has no
  * dependencies.
+ * <p>
+ * A <code>Service</code> is represented as a chain of steps applied to a
+ * source <code>Service</code>, ending in a <code>Service</code> that resolves
+ * directly. Resolution walks the chain iteratively, so arbitrarily long
+ * chains of <code>fmap</code>, <code>zip</code> and <code>flatMap</code> do
+ * not deepen the stack.
  *
  * @param <S> the service type
  * @see App for more thorough coverage of <code>Service</code> usage.
  */
-@RequiredArgsConstructor(access = PRIVATE)
+@AllArgsConstructor(access = PRIVATE)
 public class Service<S> implements MonadRec<S, Service<?>> {
 
-    private final ReaderT<Services, IO<?>, S> fn;
+    private final Chain                         chain;
+    private final StrictQueue<ServiceHandle<?>> dependencies;
+
+    private Service(Fn1<Services, ? extends IO<S>> source, StrictQueue<ServiceHandle<?>> dependencies) {
+        this(new Source(source), dependencies);
+    }
+
+    private Service(Service<?> previous, Step step, StrictQueue<ServiceHandle<?>> dependencies) {
+        this(new Link(previous, step), dependencies);
+    }
 
     IO<S> resolveService(Services services) {
-        return fn.runReaderT(services);
+        if (chain instanceof Source)
+            return cast(((Source) chain).source.apply(services));
+
+        List<Step> steps = new ArrayList<>();
+        Chain      node  = chain;
+        while (node instanceof Link) {
+            Link link = (Link) node;
+            steps.add(link.step);
+            node = link.previous.chain;
+        }
+        IO<?> resolved = ((Source) node).source.apply(services);
+        for (int i = steps.size() - 1; i >= 0; i--)
+            resolved = steps.get(i).apply(resolved, services);
+        return cast(resolved);
+    }
+
+    /**
+     * The handles that this <code>Service</code> is known to reference before
+     * any resolution function runs. Handles that are only referenced by the
+     * <code>Service</code> returned from a resolution function cannot be
+     * known in advance and are not included.
+     *
+     * @return the declared dependencies
+     */
+    StrictQueue<ServiceHandle<?>> dependencies() {
+        return dependencies;
+    }
+
+    /**
+     * Whether this <code>Service</code> is resolved once per request rather
+     * than by the memoization of the resolution that reaches it.
+     *
+     * @return <code>true</code> if the <code>Service</code> is request-scoped
+     */
+    boolean requestScoped() {
+        return false;
     }
 
     /**
@@ -62,7 +116,7 @@ public class Service<S> implements MonadRec<S, Service<?>> {
      */
     @Override
     public <B> Service<B> pure(B b) {
-        return new Service<>(fn.pure(b));
+        return new Service<>(constantly(io(b)), strictQueue());
     }
 
     /**
@@ -70,7 +124,7 @@ public class Service<S> implements MonadRec<S, Service<?>> {
      */
     @Override
     public <B> Service<B> fmap(Fn1<? super S, ? extends B> fn) {
-        return new Service<>(readerT(services -> resolveService(services).fmap(fn)));
+        return new Service<>(this, (resolved, services) -> Service.<S>cast(resolved).fmap(fn), dependencies);
     }
 
     /**
@@ -78,9 +132,14 @@ public class Service<S> implements MonadRec<S, Service<?>> {
      */
     @Override
     public <B> Service<B> zip(Applicative<Fn1<? super S, ? extends B>, Service<?>> appFn) {
-        return new Service<>(readerT(services -> resolveService(services)
-            .zip(appFn.<Service<Fn1<? super S, ? extends B>>>coerce()
-                      .resolveService(services))));
+        Service<Fn1<? super S, ? extends B>> serviceFn = appFn.coerce();
+        return new Service<>(this,
+                             (resolved, services) -> {
+                                 Services branch = services.branch();
+                                 return Service.<S>cast(resolved)
+                                     .zip(io(() -> serviceFn.resolveService(branch)).flatMap(resolvedFn -> resolvedFn));
+                             },
+                             dependencies.snocAll(serviceFn.dependencies()));
     }
 
     /**
@@ -88,10 +147,12 @@ public class Service<S> implements MonadRec<S, Service<?>> {
      */
     @Override
     public <B> Service<B> flatMap(Fn1<? super S, ? extends Monad<B, Service<?>>> f) {
-        return new Service<>(readerT((Fn1<Services, IO<B>>) services -> fn.<IO<S>>runReaderT(services)
-                                                                          .flatMap(s -> $(f, s)
-                                                                              .<Service<B>>coerce()
-                                                                              .resolveService(services))));
+        return new Service<>(this,
+                             (resolved, services) -> Service.<S>cast(resolved)
+                                 .flatMap(s -> $(f, s)
+                                     .<Service<B>>coerce()
+                                     .resolveService(services)),
+                             dependencies);
     }
 
     /**
@@ -99,11 +160,12 @@ public class Service<S> implements MonadRec<S, Service<?>> {
      */
     @Override
     public <B> Service<B> trampolineM(Fn1<? super S, ? extends MonadRec<RecursiveResult<S, B>, Service<?>>> f) {
-        return new Service<>(readerT((Fn1<Services, IO<B>>) services -> fn
-            .<IO<S>>runReaderT(services)
-            .trampolineM(s -> $(f, s)
-                .<Service<RecursiveResult<S, B>>>coerce()
-                .resolveService(services))));
+        return new Service<>(this,
+                             (resolved, services) -> Service.<S>cast(resolved)
+                                 .trampolineM(s -> $(f, s)
+                                     .<Service<RecursiveResult<S, B>>>coerce()
+                                     .resolveService(services)),
+                             dependencies);
     }
 
     /**
@@ -139,7 +201,7 @@ public class Service<S> implements MonadRec<S, Service<?>> {
      * @return a <code>Service</code> that resolves to <code>S</code>
      */
     public static <S> Service<S> service(IO<S> service) {
-        return new Service<>(readerT(constantly(service)));
+        return new Service<>(constantly(service), strictQueue());
     }
 
     /**
@@ -150,7 +212,110 @@ public class Service<S> implements MonadRec<S, Service<?>> {
      * @return A reference <code>Service</code>
      */
     public static <S> Service<S> serviceRef(ServiceHandle<S> handle) {
-        return new Service<>(readerT(services -> services.resolve(handle)));
+        return new Service<>(services -> io(() -> services.resolve(handle)).flatMap(resolved -> resolved),
+                             strictQueue(handle));
+    }
+
+    /**
+     * Constructs a <code>Service</code> that yields a {@link Deferred}
+     * reference to the service bound to a handle, rather than the service
+     * object itself. The referenced service is not resolved until the
+     * reference is first used, which makes this suitable for expensive
+     * dependencies that are seldom needed. Since the handle is not resolved
+     * along with the <code>Service</code>, it is not among the
+     * <code>Service</code>'s declared dependencies.
+     *
+     * @param <S>    the service type
+     * @param handle the handle to reference
+     * @return A <code>Service</code> that yields a lazy reference
+     */
+    public static <S> Service<Deferred<S>> lazy(ServiceHandle<S> handle) {
+        return new Service<>(services -> io(() -> new Deferred<S>(handle, services.fork().resolve(handle))),
+                             strictQueue());
+    }
+
+    /**
+     * Constructs a <code>Service</code> that yields a {@link Provider} for the
+     * service bound to a handle. The referenced service is resolved each time
+     * the {@link Provider} is used, rather than along with this
+     * <code>Service</code>, so it is not among the <code>Service</code>'s
+     * declared dependencies.
+     *
+     * @param <S>    the service type
+     * @param handle the handle to reference
+     * @return A <code>Service</code> that yields a provider
+     */
+    public static <S> Service<Provider<S>> provider(ServiceHandle<S> handle) {
+        return new Service<>(services -> io(() -> {
+            Services captured = services.fork();
+            return new Provider<S>(io(() -> captured.fork()).flatMap(forked -> forked.resolve(handle)));
+        }), strictQueue());
+    }
+
+    /**
+     * Constructs a <code>Service</code> that yields a {@link Rebindable}
+     * indirection to another <code>Service</code>'s service object, so that
+     * the service object can be replaced while the application is running.
+     * Each instance that is replaced is stopped with <code>stop</code> once
+     * the uses that were in flight when it was replaced have finished.
+     *
+     * @param <S>     the service type
+     * @param service the <code>Service</code> for the initial instance
+     * @param stop    a function that stops an instance
+     * @return A <code>Service</code> that yields a rebindable indirection
+     */
+    public static <S> Service<Rebindable<S>> rebindable(Service<S> service, Fn1<? super S, ? extends IO<?>> stop) {
+        return new Service<>(services -> service.resolveService(services)
+            .fmap(instance -> new Rebindable<S>(services.fork(), stop, instance)),
+                             service.dependencies());
+    }
+
+    /**
+     * Makes a <code>Service</code> request-scoped. A request-scoped service
+     * object is resolved at most once within each {@link RequestScope}, and
+     * can only be resolved within one.
+     *
+     * @param <S>     the service type
+     * @param service the <code>Service</code> to scope
+     * @return A request-scoped <code>Service</code>
+     */
+    public static <S> Service<S> requestScoped(Service<S> service) {
+        return new RequestScoped<>(service);
+    }
+
+    /**
+     * Constructs a <code>Service</code> that yields a {@link Pool} of up to
+     * <code>size</code> instances of another <code>Service</code>'s service
+     * object. Each instance is resolved from <code>service</code> when the
+     * pool first needs it, and is closed with <code>close</code> when the
+     * pool is stopped.
+     *
+     * @param <S>     the service type
+     * @param size    the greatest number of instances in the pool
+     * @param service the <code>Service</code> that constructs an instance
+     * @param close   a function that closes an instance
+     * @return A <code>Service</code> that yields a pool of instances
+     */
+    public static <S> Service<Pool<S>> pooled(int size, Service<S> service, Fn1<? super S, ? extends IO<?>> close) {
+        return new Service<>(services -> io(() -> {
+            Services captured = services.fork();
+            return new Pool<S>(size, io(() -> captured.fork()).flatMap(service::resolveService), close);
+        }), service.dependencies());
+    }
+
+    /**
+     * Constructs a <code>Service</code> that yields a {@link Pool} of up to
+     * <code>size</code> instances of another <code>Service</code>'s
+     * {@link AutoCloseable} service object, which are closed when the pool is
+     * stopped.
+     *
+     * @param <S>     the service type
+     * @param size    the greatest number of instances in the pool
+     * @param service the <code>Service</code> that constructs an instance
+     * @return A <code>Service</code> that yields a pool of instances
+     */
+    public static <S extends AutoCloseable> Service<Pool<S>> pooled(int size, Service<S> service) {
+        return pooled(size, service, s -> io(s::close));
     }
 
     /**
@@ -382,4 +547,48 @@ public class Service<S> implements MonadRec<S, Service<?>> {
             serviceRef(handle6),
             serviceRef(handle7)));
     }
+
+    private static final class RequestScoped<S> extends Service<S> {
+        private RequestScoped(Service<S> service) {
+            super(services -> RequestScope.resolving(service, services), service.dependencies());
+        }
+
+        @Override
+        boolean requestScoped() {
+            return true;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <A> IO<A> cast(IO<?> io) {
+        return (IO<A>) io;
+    }
+
+    /**
+     * How a <code>Service</code> is resolved: either a {@link Source}, which
+     * resolves directly, or a {@link Link}, which applies a {@link Step} to
+     * the resolution of a preceding <code>Service</code>.
+     */
+    private abstract static class Chain {
+    }
+
+    @AllArgsConstructor(access = PRIVATE)
+    private static final class Source extends Chain {
+        private final Fn1<Services, ? extends IO<?>> source;
+    }
+
+    @AllArgsConstructor(access = PRIVATE)
+    private static final class Link extends Chain {
+        private final Service<?> previous;
+        private final Step       step;
+    }
+
+    /**
+     * A step in the chain of a <code>Service</code>, which derives the
+     * <code>Service</code>'s {@link IO} from that of its predecessor.
+     */
+    @FunctionalInterface
+    private interface Step {
+        IO<?> apply(IO<?> resolved, Services services);
+    }
 }
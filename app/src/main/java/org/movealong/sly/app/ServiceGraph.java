@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.app;
+
+import com.jnape.palatable.lambda.functions.specialized.Kleisli;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Collections.unmodifiableList;
+import static lombok.AccessLevel.PACKAGE;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * The graph of bound services and their declared dependencies, as produced by
+ * <code>graph</code> in {@link App} without constructing any service objects.
+ * Every bound handle is a node, as is every handle that a bound service
+ * depends on but that is not itself bound. A service has one edge to each of
+ * its dependencies, however many times it declares the same handle. The
+ * graph can be rendered in the DOT language for Graphviz or as JSON.
+ * <p>
+ * The <i>longest chains</i> of the graph are its longest paths from a service
+ * through its dependencies. They bound how quickly the graph can be resolved,
+ * however many of its services are resolved in parallel, so they are the
+ * places to look when restructuring a graph for faster startup.
+ * <p>
+ * Only declared dependencies are known before resolution. Handles that a
+ * service references only from within a resolution function do not appear as
+ * edges.
+ *
+ * @see App#graph(Kleisli)
+ */
+@Getter
+@RequiredArgsConstructor(access = PRIVATE)
+public final class ServiceGraph {
+    private final List<Node>                   nodes;
+    private final List<List<ServiceHandle<?>>> longestChains;
+
+    static ServiceGraph of(Registry registry) throws ServiceException {
+        Binding<?>[]                   bindings = registry.bindings();
+        List<ServiceHandle<?>>         handles  = new ArrayList<>();
+        Map<ServiceHandle<?>, Integer> indices  = new HashMap<>();
+        for (Binding<?> binding : bindings) {
+            indices.put(binding.getHandle(), handles.size());
+            handles.add(binding.getHandle());
+        }
+
+        int[][] edges = new int[bindings.length][];
+        for (int i = 0; i < bindings.length; i++) {
+            Set<Integer> dependencies = new LinkedHashSet<>();
+            for (ServiceHandle<?> dependency : bindings[i].getService().dependencies()) {
+                Integer index = indices.get(dependency);
+                if (index == null) {
+                    index = handles.size();
+                    indices.put(dependency, index);
+                    handles.add(dependency);
+                }
+                dependencies.add(index);
+            }
+            edges[i] = dependencies.stream().mapToInt(Integer::intValue).toArray();
+        }
+        edges = Arrays.copyOf(edges, handles.size());
+        for (int i = bindings.length; i < edges.length; i++)
+            edges[i] = new int[0];
+
+        ServiceHandle<?>[] nodeHandles = handles.toArray(new ServiceHandle<?>[0]);
+        int[]              order       = ResolutionPlan.topologicalOrder(nodeHandles, edges);
+        int[]              depth       = new int[edges.length];
+        int[]              next        = new int[edges.length];
+        int                longest     = 0;
+        for (int i : order) {
+            depth[i] = 1;
+            next[i] = -1;
+            for (int dependency : edges[i]) {
+                if (depth[dependency] + 1 > depth[i]) {
+                    depth[i] = depth[dependency] + 1;
+                    next[i] = dependency;
+                }
+            }
+            longest = Math.max(longest, depth[i]);
+        }
+
+        List<List<ServiceHandle<?>>> chains = new ArrayList<>();
+        for (int i = 0; i < edges.length; i++) {
+            if (depth[i] == longest) {
+                List<ServiceHandle<?>> chain = new ArrayList<>(longest);
+                for (int j = i; j >= 0; j = next[j])
+                    chain.add(nodeHandles[j]);
+                chains.add(unmodifiableList(chain));
+            }
+        }
+
+        List<Node> nodes = new ArrayList<>(edges.length);
+        for (int i = 0; i < edges.length; i++) {
+            List<ServiceHandle<?>> dependencies = new ArrayList<>(edges[i].length);
+            for (int dependency : edges[i])
+                dependencies.add(nodeHandles[dependency]);
+            nodes.add(new Node(nodeHandles[i], i < bindings.length, unmodifiableList(dependencies)));
+        }
+        return new ServiceGraph(unmodifiableList(nodes), unmodifiableList(chains));
+    }
+
+    /**
+     * Renders the graph in the DOT language. Each node is labelled with the
+     * location at which its handle was created, or with its identifier if the
+     * location was not captured, and unbound handles are drawn with a dashed
+     * outline.
+     *
+     * @return the graph as DOT
+     */
+    public String toDot() {
+        StringBuilder dot = new StringBuilder("digraph services {\n");
+        for (Node node : nodes) {
+            dot.append("  ").append(id(node.handle))
+               .append(" [label=").append(dotQuoted(node.getInitializedAt() == null
+                                                    ? id(node.handle)
+                                                    : node.getInitializedAt().toString()));
+            if (!node.bound)
+                dot.append(", style=dashed");
+            dot.append("];\n");
+        }
+        for (Node node : nodes)
+            for (ServiceHandle<?> dependency : node.dependencies)
+                dot.append("  ").append(id(node.handle)).append(" -> ").append(id(dependency)).append(";\n");
+        return dot.append("}\n").toString();
+    }
+
+    /**
+     * Renders the graph as JSON. The nodes are identified by the ordinals of
+     * their handles, and the location at which a node's handle was created is
+     * <code>null</code> if it was not captured.
+     *
+     * @return the graph as JSON
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{\"nodes\":[");
+        for (int i = 0; i < nodes.size(); i++) {
+            Node node = nodes.get(i);
+            if (i > 0)
+                json.append(',');
+            json.append("{\"id\":").append(node.handle.ordinal())
+                .append(",\"initializedAt\":").append(node.getInitializedAt() == null
+                                                        ? "null"
+                                                        : jsonQuoted(node.getInitializedAt().toString()))
+                .append(",\"bound\":").append(node.bound)
+                .append(",\"dependencies\":");
+            ordinals(json, node.dependencies);
+            json.append('}');
+        }
+        json.append("],\"longestChains\":[");
+        for (int i = 0; i < longestChains.size(); i++) {
+            if (i > 0)
+                json.append(',');
+            ordinals(json, longestChains.get(i));
+        }
+        return json.append("]}").toString();
+    }
+
+    private static String id(ServiceHandle<?> handle) {
+        return "h" + handle.ordinal();
+    }
+
+    private static void ordinals(StringBuilder json, List<ServiceHandle<?>> handles) {
+        json.append('[');
+        for (int i = 0; i < handles.size(); i++) {
+            if (i > 0)
+                json.append(',');
+            json.append(handles.get(i).ordinal());
+        }
+        json.append(']');
+    }
+
+    private static String dotQuoted(String s) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : s.toCharArray()) {
+            if (c == '"' || c == '\\')
+                quoted.append('\\').append(c);
+            else if (c == '\n')
+                quoted.append("\\n");
+            else if (c < 0x20)
+                quoted.append(' ');
+            else
+                quoted.append(c);
+        }
+        return quoted.append('"').toString();
+    }
+
+    private static String jsonQuoted(String s) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : s.toCharArray()) {
+            if (c == '"' || c == '\\')
+                quoted.append('\\').append(c);
+            else if (c < 0x20)
+                quoted.append(String.format("\\u%04x", (int) c));
+            else
+                quoted.append(c);
+        }
+        return quoted.append('"').toString();
+    }
+
+    /**
+     * A node of the {@link ServiceGraph}.
+     */
+    @Getter
+    @ToString
+    @RequiredArgsConstructor(access = PACKAGE)
+    public static final class Node {
+        private final ServiceHandle<?>       handle;
+        private final boolean                bound;
+        private final List<ServiceHandle<?>> dependencies;
+
+        /**
+         * The location at which the node's handle was created.
+         *
+         * @return the location, or <code>null</code> if it was not captured
+         */
+        public StackTraceElement getInitializedAt() {
+            return handle.initializedAt();
+        }
+    }
+}
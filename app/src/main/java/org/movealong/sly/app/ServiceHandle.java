@@ -15,11 +15,16 @@
  */
 package org.movealong.sly.app;
 
-import com.jnape.palatable.lambda.adt.hmap.TypeSafeKey;
+import com.jnape.palatable.lambda.adt.Maybe;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 
-import static java.lang.Thread.currentThread;
+import java.lang.StackWalker.StackFrame;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.jnape.palatable.lambda.adt.Maybe.nothing;
+import static java.lang.Boolean.parseBoolean;
+import static java.lang.System.getProperty;
 import static lombok.AccessLevel.PRIVATE;
 
 /**
@@ -27,15 +32,55 @@ import static lombok.AccessLevel.PRIVATE;
  * in an {@link App}. Each {@link Service} that is bound in an {@link App}
  * should have its own <code>ServiceHandle</code> that other {@link Service}s
  * can use to wire the associated {@link Service}.
+ * <p>
+ * A <code>ServiceHandle</code> records the location of the code that created
+ * it, which identifies the handle in diagnostics such as the message of a
+ * {@link ServiceException}. Only the caller's frame is captured, and it is not
+ * converted into a {@link StackTraceElement} until it is needed. Setting the
+ * system property <code>org.movealong.sly.app.captureHandleOrigin</code> to
+ * <code>false</code> skips the capture entirely.
  *
  * @param <S> the service type
  */
 @ToString
 @RequiredArgsConstructor(access = PRIVATE)
-public final class ServiceHandle<S> implements TypeSafeKey.Simple<Service<S>> {
-    private final StackTraceElement initializedAt;
+public final class ServiceHandle<S> {
+    private static final AtomicInteger ORDINALS       = new AtomicInteger();
+    private static final StackWalker   STACK_WALKER   = StackWalker.getInstance();
+    private static final boolean       CAPTURE_ORIGIN =
+        parseBoolean(getProperty("org.movealong.sly.app.captureHandleOrigin", "true"));
+
+    @ToString.Exclude
+    private final Maybe<StackFrame> origin;
+    @ToString.Exclude
+    private final int               ordinal;
 
     public static <S> ServiceHandle<S> create() {
-        return new ServiceHandle<>(currentThread().getStackTrace()[2]);
+        return new ServiceHandle<>(CAPTURE_ORIGIN
+                                   ? STACK_WALKER.walk(frames -> Maybe.fromOptional(frames.skip(1).findFirst()))
+                                   : nothing(),
+                                   ORDINALS.getAndIncrement());
+    }
+
+    /**
+     * The location of the code that created this handle, or <code>null</code>
+     * if capturing the location is disabled.
+     *
+     * @return the location where this handle was created
+     */
+    @ToString.Include(name = "initializedAt")
+    StackTraceElement initializedAt() {
+        return origin.fmap(StackFrame::toStackTraceElement).orElse(null);
+    }
+
+    /**
+     * A process-wide number for this handle, assigned at creation, that
+     * identifies it in diagnostics such as recorded events and renderings of
+     * the service graph.
+     *
+     * @return the ordinal of this handle
+     */
+    int ordinal() {
+        return ordinal;
     }
 }
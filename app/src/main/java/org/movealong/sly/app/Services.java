@@ -19,4 +19,29 @@ import com.jnape.palatable.lambda.io.IO;
 
 interface Services {
     <S> IO<S> resolve(ServiceHandle<S> key);
+
+    /**
+     * Services that resolve from the same point in the dependency graph as
+     * these, but independently of them, for resolutions that are performed
+     * later or on another thread.
+     */
+    default Services fork() {
+        return this;
+    }
+
+    /**
+     * Services for one of several resolutions that are started together and
+     * may be performed concurrently, as the sides of a <code>zip</code> are.
+     */
+    default Services branch() {
+        return this;
+    }
+
+    /**
+     * Wraps a resolution that may be performed again after it fails, so that
+     * the failure leaves these services as the resolution found them.
+     */
+    default <A> IO<A> retryable(IO<A> resolution) {
+        return resolution;
+    }
 }
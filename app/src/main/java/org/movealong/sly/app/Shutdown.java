@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.app;
+
+import com.jnape.palatable.lambda.adt.Maybe;
+import com.jnape.palatable.lambda.adt.Try;
+import com.jnape.palatable.lambda.adt.Unit;
+import com.jnape.palatable.lambda.functions.Fn1;
+import com.jnape.palatable.lambda.io.IO;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.jnape.palatable.lambda.adt.Maybe.nothing;
+import static com.jnape.palatable.lambda.adt.Unit.UNIT;
+import static com.jnape.palatable.lambda.io.IO.externallyManaged;
+import static com.jnape.palatable.lambda.io.IO.io;
+import static com.jnape.palatable.lambda.io.IO.throwing;
+import static java.lang.System.nanoTime;
+import static java.time.Duration.ofNanos;
+import static java.util.Collections.unmodifiableList;
+import static lombok.AccessLevel.PRIVATE;
+import static org.movealong.sly.app.Concurrently.within;
+import static org.movealong.sly.app.Starter.starter;
+import static org.movealong.sly.app.Stopper.stopper;
+
+/**
+ * A policy for shutting down an application started by <code>start</code> in
+ * {@link App}. The application's {@link Stopper} is given an overall
+ * deadline, after which the shutdown hook returns whether or not the
+ * {@link Stopper} has finished. Individual components may also be given a
+ * budget with <code>budgeted</code>. A component that overruns its budget is
+ * abandoned, so that the components stopped after it are not held up, and is
+ * listed in the {@link ShutdownReport} that is delivered at the end of the
+ * shutdown.
+ * <p>
+ * The stops are performed on the supplied {@link Executor}, which must not
+ * itself be shut down by any of the application's {@link Stopper}s. Waiting
+ * on a budget does not occupy a thread of the {@link Executor}, so a bounded
+ * pool only needs a thread for each stop in progress, including any that
+ * have been abandoned. Components that do not depend on one another can be
+ * stopped concurrently by combining their {@link Starter}s with
+ * <code>parallel</code>. The overruns in a {@link ShutdownReport} are those
+ * of the stop that it reports on.
+ *
+ * @see Starter#parallel(Executor, Iterable)
+ */
+@RequiredArgsConstructor(access = PRIVATE)
+public final class Shutdown {
+    private final Duration                                      deadline;
+    private final Executor                                      executor;
+    private final Fn1<? super ShutdownReport, ? extends IO<?>>  onReport;
+    private final AtomicReference<List<ShutdownReport.Overrun>> overruns =
+        new AtomicReference<>(new CopyOnWriteArrayList<>());
+
+    /**
+     * Creates a {@link Shutdown} policy.
+     *
+     * @param deadline the time allowed for the whole application to stop
+     * @param executor the {@link Executor} on which to perform the stops
+     * @param onReport a callback that receives the {@link ShutdownReport}
+     * @return A {@link Shutdown}
+     */
+    public static Shutdown shutdown(Duration deadline,
+                                    Executor executor,
+                                    Fn1<? super ShutdownReport, ? extends IO<?>> onReport) {
+        return new Shutdown(deadline, executor, onReport);
+    }
+
+    /**
+     * Limits the time that the {@link Stopper} of a component may take to
+     * stop. If it has not finished within <code>budget</code>, the overrun is
+     * recorded for the {@link ShutdownReport} and the stop is abandoned.
+     *
+     * @param component a label for the application component
+     * @param budget    the time allowed for the component to stop
+     * @param stopper   the {@link Stopper} for the component
+     * @return A {@link Stopper} that is bounded by the budget
+     */
+    public Stopper<IO<?>> budgeted(String component, Duration budget, Stopper<IO<?>> stopper) {
+        return stopper(() -> externallyManaged(() -> within(executor, stopper.<IO<Unit>>stop(), budget))
+            .flatMap(result -> result.<IO<Unit>>match(
+                u -> io(() -> {
+                    overruns.get().add(new ShutdownReport.Overrun(component, budget));
+                }),
+                r -> r.<IO<Unit>>match(t -> throwing(t), IO::io))));
+    }
+
+    /**
+     * Limits the time that the {@link Stopper} of a component may take to
+     * stop, as <code>budgeted</code> does for a {@link Stopper}.
+     *
+     * @param component a label for the application component
+     * @param budget    the time allowed for the component to stop
+     * @param starter   the {@link Starter} for the component
+     * @return A {@link Starter} whose {@link Stopper} is bounded by the budget
+     */
+    public Starter<IO<?>> budgeted(String component, Duration budget, Starter<IO<?>> starter) {
+        return starter(() -> starter.<IO<Stopper<IO<?>>>>start()
+            .fmap(stopper -> budgeted(component, budget, stopper)));
+    }
+
+    IO<Unit> stop(Stopper<IO<?>> stopper) {
+        return io(() -> {
+            List<ShutdownReport.Overrun> collected = new CopyOnWriteArrayList<>();
+            overruns.set(collected);
+            long             begin  = nanoTime();
+            Maybe<Try<Unit>> result = within(executor, stopper.<IO<Unit>>stop(), deadline).join();
+            return new ShutdownReport(ofNanos(nanoTime() - begin),
+                                      result.match(u -> false, r -> true),
+                                      unmodifiableList(new ArrayList<>(collected)),
+                                      result.flatMap(r -> r.<Maybe<Throwable>>match(Maybe::just, u -> nothing())));
+        }).flatMap(report -> onReport.apply(report).fmap(x -> UNIT));
+    }
+}
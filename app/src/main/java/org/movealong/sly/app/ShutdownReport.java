@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.app;
+
+import com.jnape.palatable.lambda.adt.Maybe;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.time.Duration;
+import java.util.List;
+
+import static lombok.AccessLevel.PACKAGE;
+
+/**
+ * A report of how an application shut down, delivered by a {@link Shutdown}
+ * once the application's {@link Stopper} has finished or its deadline has
+ * passed, whichever comes first. A shutdown is <i>completed</i> if the
+ * {@link Stopper} finished before the deadline, whether or not it failed.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor(access = PACKAGE)
+public final class ShutdownReport {
+    private final Duration         elapsed;
+    private final boolean          completed;
+    private final List<Overrun>    overruns;
+    private final Maybe<Throwable> failure;
+
+    /**
+     * A component whose {@link Stopper} did not finish within its budget.
+     */
+    @Getter
+    @ToString
+    @RequiredArgsConstructor(access = PACKAGE)
+    public static final class Overrun {
+        private final String   component;
+        private final Duration budget;
+    }
+}
@@ -15,10 +15,29 @@
  */
 package org.movealong.sly.app;
 
+import com.jnape.palatable.lambda.adt.Unit;
 import com.jnape.palatable.lambda.functions.Fn0;
+import com.jnape.palatable.lambda.functions.Fn1;
+import com.jnape.palatable.lambda.io.IO;
 import com.jnape.palatable.lambda.monad.Monad;
 import com.jnape.palatable.winterbourne.NaturalTransformation;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static com.jnape.palatable.lambda.adt.Unit.UNIT;
+import static com.jnape.palatable.lambda.io.IO.externallyManaged;
+import static com.jnape.palatable.lambda.io.IO.io;
+import static com.jnape.palatable.lambda.io.IO.throwing;
+import static java.lang.System.nanoTime;
+import static java.time.Duration.ofNanos;
+import static java.util.Arrays.asList;
+import static org.movealong.sly.app.Concurrently.failure;
+import static org.movealong.sly.app.Concurrently.performAll;
+import static org.movealong.sly.app.Concurrently.successes;
+
 /**
  * {@link Starter} and {@link Stopper} form a mechanism for controlling an
  * application component that requires set up and tear down. The {@link App}
@@ -98,4 +117,104 @@ public interface Starter<M extends Monad<?, M>> {
             }
         };
     }
+
+    /**
+     * Creates a {@link Starter} for a warm-up stage, which repeatedly runs
+     * <code>runners</code> in turn, performing the {@link IO} that each
+     * yields, until <code>budget</code> has been used. Each iteration runs
+     * every {@link Runner} once, and an iteration that has begun is completed
+     * even if it overruns the budget. A {@link WarmupReport} is then supplied
+     * to <code>onReport</code>. Composing the warm-up stage with
+     * <code>andThen</code> before the {@link Starter} that admits traffic,
+     * such as a listener, exercises the application's hot paths before any
+     * real work arrives. With no {@link Runner}s, the warm-up stage reports
+     * no iterations at once rather than waiting out the budget. The warm-up
+     * stage fails if any {@link Runner} fails, and has nothing to stop.
+     *
+     * @param budget    the time to spend warming up
+     * @param runners   the warm-up {@link Runner}s
+     * @param onReport  a callback that receives the {@link WarmupReport}
+     * @return A {@link Starter} for the warm-up stage
+     */
+    static Starter<IO<?>> warmingUp(Duration budget,
+                                    Iterable<? extends Runner<?, IO<?>, ? extends IO<?>>> runners,
+                                    Fn1<? super WarmupReport, ? extends IO<?>> onReport) {
+        return starter(() -> io(() -> {
+            long begin      = nanoTime();
+            long limit      = budget.toNanos();
+            int  iterations = 0;
+            while (runners.iterator().hasNext() && nanoTime() - begin < limit) {
+                for (Runner<?, IO<?>, ? extends IO<?>> runner : runners)
+                    runner.run().unsafePerformIO();
+                iterations++;
+            }
+            return new WarmupReport(iterations, ofNanos(nanoTime() - begin));
+        }).flatMap(report -> onReport.apply(report)
+            .fmap(x -> Stopper.<IO<?>>stopper(() -> io(UNIT)))));
+    }
+
+    /**
+     * Creates a {@link Starter} that emits a JDK Flight Recorder event,
+     * labelled with <code>component</code>, for the duration of each start,
+     * and whose {@link Stopper} does the same for each stop. The events are
+     * only created when they are enabled in a recording.
+     *
+     * @param component a label for the application component
+     * @param starter   the {@link Starter} for the component
+     * @return A {@link Starter} that records its starts and stops
+     * @see Stopper#recorded(String, Stopper)
+     */
+    static Starter<IO<?>> recorded(String component, Starter<IO<?>> starter) {
+        return starter(() -> Recording.starting(component, starter.<IO<Stopper<IO<?>>>>start())
+            .fmap(stopper -> Stopper.recorded(component, stopper)));
+    }
+
+    /**
+     * Creates a {@link Starter} that starts several independent application
+     * components concurrently, using the supplied {@link Executor}. Unlike
+     * <code>andThen</code>, the lifecycles of the components are not nested
+     * within one another, and the {@link Stopper} that the combined
+     * {@link Starter} returns stops all of them concurrently as well. If any
+     * component fails to start, the components that did start are stopped
+     * before the combined {@link Starter} fails with the first failure. No
+     * thread of the {@link Executor} waits for the components, so parallel
+     * compositions may be nested on the same bounded {@link Executor}.
+     *
+     * @param executor the {@link Executor} on which to start the components
+     * @param starters {@link Starter}s for independent application components
+     * @return A {@link Starter} that combines the others
+     * @see Stopper#parallel(Executor, Iterable)
+     */
+    static Starter<IO<?>> parallel(Executor executor, Iterable<? extends Starter<IO<?>>> starters) {
+        return starter(() -> externallyManaged(() -> {
+            List<IO<Stopper<IO<?>>>> starts = new ArrayList<>();
+            for (Starter<IO<?>> starter : starters)
+                starts.add(starter.<IO<Stopper<IO<?>>>>start());
+            return performAll(executor, starts);
+        }).flatMap(results -> {
+            Stopper<IO<?>> stopper = Stopper.parallel(executor, successes(results));
+            return failure(results).<IO<Stopper<IO<?>>>>match(
+                u -> io(stopper),
+                t -> stopper.<IO<Unit>>stop()
+                    .catchError(e -> {
+                        t.addSuppressed(e);
+                        return io(UNIT);
+                    })
+                    .flatMap(u -> throwing(t)));
+        }));
+    }
+
+    /**
+     * Creates a {@link Starter} that starts several independent application
+     * components concurrently, using the supplied {@link Executor}.
+     *
+     * @param executor the {@link Executor} on which to start the components
+     * @param starters {@link Starter}s for independent application components
+     * @return A {@link Starter} that combines the others
+     * @see Starter#parallel(Executor, Iterable)
+     */
+    @SafeVarargs
+    static Starter<IO<?>> parallel(Executor executor, Starter<IO<?>>... starters) {
+        return parallel(executor, asList(starters));
+    }
 }
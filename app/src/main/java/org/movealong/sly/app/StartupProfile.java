@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.app;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.time.Duration;
+import java.util.List;
+
+import static lombok.AccessLevel.PACKAGE;
+
+/**
+ * A report of where an application spent its time while resolving services
+ * and starting. A <code>StartupProfile</code> is delivered to the callback
+ * supplied to the profiling variants of <code>run</code> and
+ * <code>start</code> in {@link App}.
+ * <p>
+ * Resolution times are inclusive of the time spent resolving a service's
+ * dependencies. The critical path is the chain of dependencies, starting
+ * from a service resolved directly by the application, that spent the most
+ * time in total resolving its services, each service counting only the time
+ * that it spent outside of the dependencies that it built itself. A shared
+ * dependency that was already resolved, or that another service built, is
+ * not deducted. It is the chain that bounds how quickly the application can
+ * be resolved.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor(access = PACKAGE)
+public final class StartupProfile {
+    private final List<Entry> entries;
+    private final List<Entry> criticalPath;
+    private final Duration    resolutionTime;
+    private final Duration    startTime;
+
+    /**
+     * The profile of a single {@link ServiceHandle}.
+     */
+    @Getter
+    @ToString
+    @RequiredArgsConstructor(access = PACKAGE)
+    public static final class Entry {
+        private final ServiceHandle<?>       handle;
+        private final StackTraceElement      initializedAt;
+        private final int                    constructions;
+        private final Duration               resolutionTime;
+        private final List<ServiceHandle<?>> dependencies;
+    }
+}
@@ -17,10 +17,21 @@ package org.movealong.sly.app;
 
 import com.jnape.palatable.lambda.adt.Unit;
 import com.jnape.palatable.lambda.functions.Fn0;
+import com.jnape.palatable.lambda.io.IO;
 import com.jnape.palatable.lambda.monad.Monad;
 import com.jnape.palatable.winterbourne.NaturalTransformation;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static com.jnape.palatable.lambda.adt.Unit.UNIT;
 import static com.jnape.palatable.lambda.functions.Fn0.fn0;
+import static com.jnape.palatable.lambda.io.IO.externallyManaged;
+import static com.jnape.palatable.lambda.io.IO.io;
+import static java.util.Arrays.asList;
+import static org.movealong.sly.app.Concurrently.failure;
+import static org.movealong.sly.app.Concurrently.performAll;
 
 /**
  * {@link Starter} and {@link Stopper} form a mechanism for controlling an
@@ -92,4 +103,55 @@ public interface Stopper<M extends Monad<?, M>> {
             }
         };
     }
+
+    /**
+     * Creates a {@link Stopper} that emits a JDK Flight Recorder event,
+     * labelled with <code>component</code>, for the duration of each stop. The
+     * event is only created when it is enabled in a recording.
+     *
+     * @param component a label for the application component
+     * @param stopper   the {@link Stopper} for the component
+     * @return A {@link Stopper} that records its stops
+     */
+    static Stopper<IO<?>> recorded(String component, Stopper<IO<?>> stopper) {
+        return stopper(() -> Recording.stopping(component, stopper.<IO<Unit>>stop()));
+    }
+
+    /**
+     * Creates a {@link Stopper} that stops several application components
+     * concurrently, using the supplied {@link Executor}. Every component is
+     * stopped even if stopping another one fails. If any of them fail, the
+     * combined {@link Stopper} fails with the first failure, and any further
+     * failures are attached to it as suppressed exceptions. No thread of the
+     * {@link Executor} waits for the components, so parallel compositions may
+     * be nested on the same bounded {@link Executor}.
+     *
+     * @param executor the {@link Executor} on which to stop the components
+     * @param stoppers {@link Stopper}s for independent application components
+     * @return A {@link Stopper} that combines the others
+     */
+    static Stopper<IO<?>> parallel(Executor executor, Iterable<? extends Stopper<IO<?>>> stoppers) {
+        return stopper(() -> externallyManaged(() -> {
+            List<IO<Unit>> stops = new ArrayList<>();
+            for (Stopper<IO<?>> stopper : stoppers)
+                stops.add(stopper.<IO<Unit>>stop());
+            return performAll(executor, stops);
+        }).flatMap(results -> failure(results).<IO<Unit>>match(
+            fn0(() -> io(UNIT)),
+            IO::throwing)));
+    }
+
+    /**
+     * Creates a {@link Stopper} that stops several application components
+     * concurrently, using the supplied {@link Executor}.
+     *
+     * @param executor the {@link Executor} on which to stop the components
+     * @param stoppers {@link Stopper}s for independent application components
+     * @return A {@link Stopper} that combines the others
+     * @see Stopper#parallel(Executor, Iterable)
+     */
+    @SafeVarargs
+    static Stopper<IO<?>> parallel(Executor executor, Stopper<IO<?>>... stoppers) {
+        return parallel(executor, asList(stoppers));
+    }
 }
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.app;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.time.Duration;
+
+import static lombok.AccessLevel.PACKAGE;
+
+/**
+ * A report of a warm-up stage, delivered by the {@link Starter} that
+ * <code>warmingUp</code> in {@link Starter} creates once the stage has used
+ * its budget. An iteration is one run of every warm-up {@link Runner}.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor(access = PACKAGE)
+public final class WarmupReport {
+    private final int      iterations;
+    private final Duration elapsed;
+}
@@ -15,15 +15,36 @@
  */
 package org.movealong.sly.app;
 
+import com.jnape.palatable.lambda.adt.Unit;
+import com.jnape.palatable.lambda.functions.specialized.Kleisli;
 import com.jnape.palatable.lambda.io.IO;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
 import static com.jnape.palatable.lambda.io.IO.io;
+import static java.time.Duration.ofSeconds;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toList;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.AnyOf.anyOf;
 import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNot.not;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
 import static org.movealong.sly.app.App.*;
+import static org.movealong.sly.app.Binding.binding;
 import static org.movealong.sly.app.Runner.runner;
+import static org.movealong.sly.app.Service.lazy;
+import static org.movealong.sly.app.Service.provider;
 import static org.movealong.sly.app.Service.service;
 import static org.movealong.sly.app.ServiceHandle.create;
 import static testsupport.matchers.IOMatcher.yieldsValue;
@@ -92,4 +113,369 @@ class AppTest {
                                        aKey, bKey, (a, b) -> service(io(runner(() -> io(a + " " + b)))))))
                                    .andThen(resolve(producerHandle))));
     }
-}
\ No newline at end of file
+
+    @Test
+    void memoizingResolvesSharedDependencyOnce() {
+        AtomicInteger                                    constructions  = new AtomicInteger();
+        ServiceHandle<Integer>                           sharedKey      = create();
+        ServiceHandle<String>                            aKey           = create();
+        ServiceHandle<String>                            bKey           = create();
+        ServiceHandle<Runner<String, IO<?>, IO<String>>> producerHandle = create();
+
+        assertThat(run(memoizing()
+                           .andThen(bind(sharedKey, service(io(() -> constructions.incrementAndGet()))))
+                           .andThen(bind(aKey, service(sharedKey, n -> service(io("a" + n)))))
+                           .andThen(bind(bKey, service(sharedKey, n -> service(io("b" + n)))))
+                           .andThen(bind(producerHandle, service(
+                               aKey, bKey, (a, b) -> service(io(runner(() -> io(a + " " + b)))))))
+                           .andThen(resolve(producerHandle))),
+                   yieldsValue(equalTo("a1 b1")));
+        assertThat(constructions.get(), equalTo(1));
+    }
+
+    @Test
+    void onDemandDependencyWithoutMemoizing() {
+        AtomicInteger                                    constructions  = new AtomicInteger();
+        ServiceHandle<Integer>                           sharedKey      = create();
+        ServiceHandle<String>                            aKey           = create();
+        ServiceHandle<String>                            bKey           = create();
+        ServiceHandle<Runner<String, IO<?>, IO<String>>> producerHandle = create();
+
+        assertThat(run(bind(sharedKey, service(io(() -> constructions.incrementAndGet())))
+                           .andThen(bind(aKey, service(sharedKey, n -> service(io("a" + n)))))
+                           .andThen(bind(bKey, service(sharedKey, n -> service(io("b" + n)))))
+                           .andThen(bind(producerHandle, service(
+                               aKey, bKey, (a, b) -> service(io(runner(() -> io(a + " " + b)))))))
+                           .andThen(resolve(producerHandle))),
+                   yieldsValue(anyOf(equalTo("a1 b2"), equalTo("a2 b1"))));
+        assertThat(constructions.get(), equalTo(2));
+    }
+
+    @Test
+    void resolvesSiblingDependenciesInParallel() {
+        CountDownLatch                                    latch          = new CountDownLatch(2);
+        ServiceHandle<Boolean>                            aKey           = create();
+        ServiceHandle<Boolean>                            bKey           = create();
+        ServiceHandle<Runner<Boolean, IO<?>, IO<Boolean>>> producerHandle = create();
+        ExecutorService                                   executor       = newFixedThreadPool(4);
+
+        try {
+            assertThat(run(bind(aKey, service(io(() -> {
+                               latch.countDown();
+                               return latch.await(5, SECONDS);
+                           })))
+                               .andThen(bind(bKey, service(io(() -> {
+                                   latch.countDown();
+                                   return latch.await(5, SECONDS);
+                               }))))
+                               .andThen(bind(producerHandle, service(
+                                   aKey, bKey, (a, b) -> service(io(runner(() -> io(a && b)))))))
+                               .andThen(resolveParallel(producerHandle, executor))),
+                       yieldsValue(equalTo(true)));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void detectsResolutionCyclesInParallel() {
+        ServiceHandle<String>                            aKey           = create();
+        ServiceHandle<String>                            bKey           = create();
+        ServiceHandle<Runner<String, IO<?>, IO<String>>> producerHandle = create();
+        ExecutorService                                  executor       = newFixedThreadPool(4);
+
+        try {
+            assertThrows(ServiceException.class,
+                         () -> run(bind(aKey, service(bKey, b -> service(io("service A depends on " + b))))
+                                       .andThen(bind(bKey, service(
+                                           aKey, a -> service(io("service B depends on " + a)))))
+                                       .andThen(bind(producerHandle, service(
+                                           aKey, bKey, (a, b) -> service(io(runner(() -> io(a + b)))))))
+                                       .andThen(resolveParallel(producerHandle, executor))));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void detectsMemoizedResolutionCyclesInParallel() {
+        ServiceHandle<String>                            aKey           = create();
+        ServiceHandle<String>                            bKey           = create();
+        ServiceHandle<Runner<String, IO<?>, IO<String>>> producerHandle = create();
+        ExecutorService                                  executor       = newFixedThreadPool(4);
+
+        try {
+            assertThrows(ServiceException.class,
+                         () -> run(memoizing()
+                                       .andThen(bind(aKey, service(bKey, b -> service(io("service A depends on " + b)))))
+                                       .andThen(bind(bKey, service(
+                                           aKey, a -> service(io("service B depends on " + a)))))
+                                       .andThen(bind(producerHandle, service(
+                                           aKey, bKey, (a, b) -> service(io(runner(() -> io(a + b)))))))
+                                       .andThen(resolveParallel(producerHandle, executor))));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void bindsManyServicesAtOnce() {
+        ServiceHandle<String>                            aKey           = create();
+        ServiceHandle<String>                            bKey           = create();
+        ServiceHandle<Runner<String, IO<?>, IO<String>>> producerHandle = create();
+
+        assertThat(run(bindAll(binding(aKey, service(io("composed"))),
+                               binding(bKey, service(io("service"))),
+                               binding(producerHandle, service(
+                                   aKey, bKey, (a, b) -> service(io(runner(() -> io(a + " " + b)))))))
+                           .andThen(resolve(producerHandle))),
+                   yieldsValue(equalTo("composed service")));
+    }
+
+    @Test
+    void bindsFromASinglePassIterable() {
+        ServiceHandle<String>                            aKey           = create();
+        ServiceHandle<Runner<String, IO<?>, IO<String>>> producerHandle = create();
+        Iterator<Binding<?>> bindings = Arrays.<Binding<?>>asList(
+                binding(aKey, service(io("composed"))),
+                binding(producerHandle, service(aKey, a -> service(io(runner(() -> io(a + " once")))))))
+            .iterator();
+
+        assertThat(run(bindAll(() -> bindings)
+                           .andThen(resolve(producerHandle))),
+                   yieldsValue(equalTo("composed once")));
+    }
+
+    @Test
+    void detectsDuplicateBindingsInBulk() {
+        ServiceHandle<String>                            key            = create();
+        ServiceHandle<Runner<String, IO<?>, IO<String>>> producerHandle = create();
+
+        assertThrows(ServiceException.class,
+                     () -> run(bindAll(binding(key, service(io("first"))),
+                                       binding(key, service(io("second"))),
+                                       binding(producerHandle, service(
+                                           key, s -> service(io(runner(() -> io("resolved: " + s)))))))
+                                   .andThen(resolve(producerHandle))));
+    }
+
+    @Test
+    void profilesServiceResolution() {
+        AtomicReference<StartupProfile>                  profile        = new AtomicReference<>();
+        ServiceHandle<Integer>                           sharedKey      = create();
+        ServiceHandle<String>                            aKey           = create();
+        ServiceHandle<String>                            bKey           = create();
+        ServiceHandle<Runner<String, IO<?>, IO<String>>> producerHandle = create();
+
+        assertThat(run(memoizing()
+                           .andThen(bind(sharedKey, service(io(() -> 1))))
+                           .andThen(bind(aKey, service(sharedKey, n -> service(io("a" + n)))))
+                           .andThen(bind(bKey, service(io("b"))))
+                           .andThen(bind(producerHandle, service(
+                               aKey, bKey, (a, b) -> service(io(runner(() -> io(a + " " + b)))))))
+                           .andThen(resolve(producerHandle)),
+                       p -> io(() -> profile.set(p))),
+                   yieldsValue(equalTo("a1 b")));
+        assertThat(profile.get().getEntries().size(), equalTo(4));
+        assertThat(profile.get().getEntries().stream().allMatch(e -> e.getConstructions() == 1), equalTo(true));
+        assertThat(profile.get().getCriticalPath().get(0).getHandle(), equalTo(producerHandle));
+        assertThat(profile.get().getCriticalPath().get(profile.get().getCriticalPath().size() - 1).getHandle(),
+                   anyOf(equalTo(sharedKey), equalTo(bKey)));
+    }
+
+    @Test
+    void profilesTheHeaviestDependencyChain() {
+        AtomicReference<StartupProfile>                  profile        = new AtomicReference<>();
+        ServiceHandle<String>                            slowKey        = create();
+        ServiceHandle<String>                            firstKey       = create();
+        ServiceHandle<String>                            secondKey      = create();
+        ServiceHandle<String>                            wideKey        = create();
+        ServiceHandle<Runner<String, IO<?>, IO<String>>> producerHandle = create();
+
+        assertThat(run(bind(slowKey, service(io(() -> sleeping(150, "slow"))))
+                           .andThen(bind(firstKey, service(io(() -> sleeping(100, "first")))))
+                           .andThen(bind(secondKey, service(io(() -> sleeping(100, "second")))))
+                           .andThen(bind(wideKey, service(firstKey, secondKey, (a, b) -> service(io(a + b)))))
+                           .andThen(bind(producerHandle, service(
+                               wideKey, slowKey, (w, s) -> service(io(runner(() -> io(w + s))))))),
+                       p -> io(() -> profile.set(p))),
+                   yieldsValue(equalTo("firstsecondslow")));
+        assertThat(profile.get().getCriticalPath().stream().map(StartupProfile.Entry::getHandle).collect(toList()),
+                   equalTo(Arrays.<ServiceHandle<?>>asList(producerHandle, slowKey)));
+    }
+
+    @Test
+    void profilesTheHeaviestChainThroughASharedDependency() {
+        assertDiamondCriticalPath(app -> io(app));
+    }
+
+    @Test
+    void profilesTheHeaviestChainThroughAMemoizedSharedDependency() {
+        assertDiamondCriticalPath(memoizing());
+    }
+
+    @Test
+    void resolvesLazyDependencyOnFirstUse() {
+        AtomicInteger                                    constructions  = new AtomicInteger();
+        ServiceHandle<Integer>                           heavyKey       = create();
+        ServiceHandle<Runner<String, IO<?>, IO<String>>> producerHandle = create();
+
+        assertThat(run(bind(heavyKey, service(io(() -> constructions.incrementAndGet())))
+                           .andThen(bind(producerHandle, lazy(heavyKey).fmap(heavy -> runner(
+                               () -> io(() -> "before " + constructions.get())
+                                   .flatMap(before -> heavy.get()
+                                       .discardL(heavy.get())
+                                       .fmap(h -> before + " after " + h))))))
+                           .andThen(resolve(producerHandle))),
+                   yieldsValue(equalTo("before 0 after 1")));
+        assertThat(constructions.get(), equalTo(1));
+    }
+
+    @Test
+    void detectsLazyDependencyCyclesOnFirstUse() {
+        ServiceHandle<String>                            aKey           = create();
+        ServiceHandle<Runner<String, IO<?>, IO<String>>> producerHandle = create();
+
+        assertThrows(ServiceException.class,
+                     () -> run(bind(aKey, lazy(aKey).flatMap(a -> service(a.get())))
+                                   .andThen(bind(producerHandle, service(
+                                       aKey, a -> service(io(runner(() -> io(a)))))))
+                                   .andThen(resolve(producerHandle))));
+    }
+
+    @Test
+    void resolvesDeepServiceChains() {
+        ServiceHandle<Runner<Integer, IO<?>, IO<Integer>>> handle  = create();
+        Service<Integer>                                   chain   = service(io(0));
+        for (int i = 0; i < 100_000; i++)
+            chain = i % 2 == 0 ? chain.fmap(n -> n + 1) : chain.flatMap(n -> service(io(n + 1)));
+        Service<Integer> deep = chain;
+
+        assertThat(run(bind(handle, deep.fmap(n -> runner(() -> io(n))))
+                           .andThen(resolve(handle))),
+                   yieldsValue(equalTo(100_000)));
+    }
+
+    @Test
+    void resolvesLongChainsOfHandles() {
+        ServiceHandle<Integer> first    = create();
+        ServiceHandle<Integer> last     = first;
+        List<Binding<?>>       bindings = new ArrayList<>();
+        bindings.add(binding(first, service(io(1))));
+        for (int i = 1; i < 10_000; i++) {
+            ServiceHandle<Integer> next = create();
+            bindings.add(binding(next, service(last, n -> service(io(n + 1)))));
+            last = next;
+        }
+        ServiceHandle<Integer>                             end            = last;
+        ServiceHandle<Runner<Integer, IO<?>, IO<Integer>>> producerHandle = create();
+        bindings.add(binding(producerHandle, service(end, n -> service(io(runner(() -> io(n)))))));
+
+        assertThat(run(bindAll(bindings).andThen(resolve(producerHandle))),
+                   yieldsValue(equalTo(10_000)));
+    }
+
+    @Test
+    void resolvesWideDependencyGraphs() {
+        List<ServiceHandle<Integer>> handles = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++)
+            handles.add(create());
+        List<Binding<?>> bindings = new ArrayList<>();
+        for (int i = 0; i < handles.size(); i++)
+            bindings.add(binding(handles.get(i), subtree(handles, i)));
+        ServiceHandle<Runner<Integer, IO<?>, IO<Integer>>> producerHandle = create();
+        bindings.add(binding(producerHandle, service(handles.get(0), n -> service(io(runner(() -> io(n)))))));
+
+        assertTimeout(ofSeconds(10),
+                      () -> assertThat(run(bindAll(bindings).andThen(resolve(producerHandle))),
+                                       yieldsValue(equalTo(10_000))));
+    }
+
+    @Test
+    void memoizingResolvesAgainAfterAFailedConstruction() {
+        AtomicInteger                                    attempts       = new AtomicInteger();
+        ServiceHandle<String>                            flakyKey       = create();
+        ServiceHandle<Runner<String, IO<?>, IO<String>>> producerHandle = create();
+
+        assertThat(run(memoizing()
+                           .andThen(bind(flakyKey, service(io(() -> {
+                               if (attempts.incrementAndGet() == 1)
+                                   throw new IllegalStateException("first attempt fails");
+                               return "attempt " + attempts.get();
+                           }))))
+                           .andThen(bind(producerHandle, provider(flakyKey).fmap(p -> runner(
+                               () -> p.get().catchError(t -> p.get())))))
+                           .andThen(resolve(producerHandle))),
+                   yieldsValue(equalTo("attempt 2")));
+    }
+
+    @Test
+    void runsAServiceAsynchronously() throws Exception {
+        ExecutorService                                  executor = newFixedThreadPool(1);
+        ServiceHandle<Runner<String, IO<?>, IO<String>>> handle   = create();
+        try {
+            assertThat(runAsync(bind(handle, service(io(runner(() -> io(() -> Thread.currentThread().getName())))))
+                                    .andThen(resolve(handle)),
+                                executor).get(5, SECONDS),
+                       not(equalTo(Thread.currentThread().getName())));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void startsAnApplicationAsynchronously() throws Exception {
+        ExecutorService               executor = newFixedThreadPool(1);
+        AtomicInteger                 running  = new AtomicInteger();
+        ServiceHandle<Starter<IO<?>>> handle   = create();
+        Starter<IO<?>> starter = Starter.starter(() -> io(() -> {
+            running.incrementAndGet();
+            return Stopper.<IO<?>>stopper(() -> io(() -> {
+                running.decrementAndGet();
+            }));
+        }));
+        try {
+            Stopper<IO<?>> stopper = startAsync(bind(handle, service(io(starter))).andThen(resolve(handle)), executor)
+                .get(5, SECONDS);
+            assertThat(running.get(), equalTo(1));
+            stopper.<IO<Unit>>stop().unsafePerformIO();
+            assertThat(running.get(), equalTo(0));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void assertDiamondCriticalPath(Kleisli<App, App, IO<?>, IO<App>> configuring) {
+        AtomicReference<StartupProfile>                  profile        = new AtomicReference<>();
+        ServiceHandle<String>                            sharedKey      = create();
+        ServiceHandle<String>                            leftKey        = create();
+        ServiceHandle<String>                            rightKey       = create();
+        ServiceHandle<Runner<String, IO<?>, IO<String>>> producerHandle = create();
+
+        assertThat(run(configuring
+                           .andThen(bind(sharedKey, service(io(() -> sleeping(100, "shared")))))
+                           .andThen(bind(leftKey, service(sharedKey, s -> service(io(() -> sleeping(10, "left " + s))))))
+                           .andThen(bind(rightKey, service(sharedKey, s -> service(io(() -> sleeping(100, "right " + s))))))
+                           .andThen(bind(producerHandle, service(
+                               leftKey, rightKey, (l, r) -> service(io(runner(() -> io(l + ", " + r))))))),
+                       p -> io(() -> profile.set(p))),
+                   yieldsValue(equalTo("left shared, right shared")));
+        assertThat(profile.get().getCriticalPath().stream().map(StartupProfile.Entry::getHandle).collect(toList()),
+                   equalTo(Arrays.<ServiceHandle<?>>asList(producerHandle, rightKey, sharedKey)));
+    }
+
+    private static String sleeping(long millis, String value) throws InterruptedException {
+        Thread.sleep(millis);
+        return value;
+    }
+
+    private static Service<Integer> subtree(List<ServiceHandle<Integer>> handles, int i) {
+        int left  = 2 * i + 1;
+        int right = left + 1;
+        if (right < handles.size())
+            return service(handles.get(left), handles.get(right), (l, r) -> service(io(l + r + 1)));
+        if (left < handles.size())
+            return service(handles.get(left), l -> service(io(l + 1)));
+        return service(io(1));
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.app;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.jnape.palatable.lambda.io.IO.io;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.movealong.sly.app.ServiceHandle.create;
+
+class DeferredTest {
+
+    @Test
+    void resolvesOnceForUsesOnTwoThreads() throws Exception {
+        AtomicInteger     constructions = new AtomicInteger();
+        CountDownLatch    resolving     = new CountDownLatch(1);
+        CountDownLatch    release       = new CountDownLatch(1);
+        ExecutorService   executor      = newFixedThreadPool(2);
+        Deferred<Integer> deferred      = new Deferred<>(create(), io(() -> {
+            resolving.countDown();
+            release.await(5, SECONDS);
+            return constructions.incrementAndGet();
+        }));
+        try {
+            CompletableFuture<Integer> first = deferred.get().unsafePerformAsyncIO(executor);
+            assertThat(resolving.await(5, SECONDS), equalTo(true));
+            CompletableFuture<Integer> second = deferred.get().unsafePerformAsyncIO(executor);
+            release.countDown();
+            assertThat(first.get(5, SECONDS), equalTo(1));
+            assertThat(second.get(5, SECONDS), equalTo(1));
+            assertThat(constructions.get(), equalTo(1));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void detectsAUseFromWithinItsOwnResolution() {
+        AtomicReference<Deferred<Integer>> self = new AtomicReference<>();
+        self.set(new Deferred<>(create(), io(() -> self.get()).flatMap(Deferred::get)));
+
+        assertThrows(ServiceException.class, () -> self.get().get().unsafePerformIO());
+    }
+}
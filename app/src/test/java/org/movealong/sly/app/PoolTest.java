@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.app;
+
+import com.jnape.palatable.lambda.adt.Unit;
+import com.jnape.palatable.lambda.io.IO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.jnape.palatable.lambda.io.IO.io;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.movealong.sly.app.App.bind;
+import static org.movealong.sly.app.App.resolve;
+import static org.movealong.sly.app.App.run;
+import static org.movealong.sly.app.Runner.runner;
+import static org.movealong.sly.app.Service.pooled;
+import static org.movealong.sly.app.Service.service;
+import static org.movealong.sly.app.ServiceHandle.create;
+import static testsupport.matchers.IOMatcher.yieldsValue;
+
+class PoolTest {
+
+    @Test
+    void reusesReturnedInstances() {
+        AtomicInteger                                    constructions  = new AtomicInteger();
+        ServiceHandle<Pool<Integer>>                     poolHandle     = create();
+        ServiceHandle<Runner<String, IO<?>, IO<String>>> producerHandle = create();
+
+        assertThat(run(bind(poolHandle, pooled(2, service(io(() -> constructions.incrementAndGet())), i -> io(() -> {})))
+                           .andThen(bind(producerHandle, service(poolHandle, pool -> service(io(runner(
+                               () -> pool.borrowing(a -> pool.borrowing(b -> io(a + " " + b)))
+                                   .flatMap(first -> pool.borrowing(c -> io(first + " " + c)))))))))
+                           .andThen(resolve(producerHandle))),
+                   yieldsValue(equalTo("1 2 2")));
+        assertThat(constructions.get(), equalTo(2));
+    }
+
+    @Test
+    void closesInstancesWhenStopped() {
+        AtomicInteger constructions = new AtomicInteger();
+        AtomicInteger closed        = new AtomicInteger();
+        Pool<Integer> pool          = new Pool<>(2, io(() -> constructions.incrementAndGet()), i -> io(() -> {
+            closed.incrementAndGet();
+        }));
+
+        Stopper<IO<?>> stopper = pool.<IO<Stopper<IO<?>>>>start().unsafePerformIO();
+        Integer        held    = pool.borrow().unsafePerformIO();
+        pool.borrowing(i -> io(i)).unsafePerformIO();
+        stopper.<IO<Unit>>stop().unsafePerformIO();
+        assertThat(closed.get(), equalTo(1));
+
+        pool.giveBack(held).unsafePerformIO();
+        assertThat(closed.get(), equalTo(2));
+        assertThrows(IllegalStateException.class, () -> pool.borrow().unsafePerformIO());
+    }
+
+    @Test
+    void failsABorrowerThatWaitedWhileThePoolClosed() throws Exception {
+        Pool<Integer>              pool    = new Pool<>(1, io(1), i -> io(() -> {}));
+        Stopper<IO<?>>             stopper = pool.<IO<Stopper<IO<?>>>>start().unsafePerformIO();
+        Integer                    held    = pool.borrow().unsafePerformIO();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread waiter = new Thread(() -> {
+            try {
+                pool.borrow().unsafePerformIO();
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+
+        waiter.start();
+        while (waiter.getState() != Thread.State.WAITING)
+            Thread.yield();
+        stopper.<IO<Unit>>stop().unsafePerformIO();
+        pool.giveBack(held).unsafePerformIO();
+        waiter.join(5_000);
+
+        assertThat(failure.get(), instanceOf(IllegalStateException.class));
+    }
+
+    @Test
+    void closesEqualInstancesSeparately() {
+        List<List<String>> closed = new ArrayList<>();
+        Pool<List<String>> pool   = new Pool<List<String>>(2, io(() -> new ArrayList<>()), l -> io(() -> {
+            closed.add(l);
+        }));
+
+        Stopper<IO<?>> stopper = pool.<IO<Stopper<IO<?>>>>start().unsafePerformIO();
+        List<String>   first   = pool.borrow().unsafePerformIO();
+        List<String>   second  = pool.borrow().unsafePerformIO();
+        stopper.<IO<Unit>>stop().unsafePerformIO();
+        pool.giveBack(first).unsafePerformIO();
+        pool.giveBack(second).unsafePerformIO();
+
+        assertThat(closed.size(), equalTo(2));
+        assertThat(closed.get(0) == first && closed.get(1) == second, equalTo(true));
+    }
+}
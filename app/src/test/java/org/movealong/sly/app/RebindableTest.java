@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.app;
+
+import com.jnape.palatable.lambda.adt.Unit;
+import com.jnape.palatable.lambda.io.IO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.jnape.palatable.lambda.io.IO.io;
+import static com.jnape.palatable.lambda.io.IO.throwing;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.movealong.sly.app.App.bind;
+import static org.movealong.sly.app.App.resolve;
+import static org.movealong.sly.app.App.run;
+import static org.movealong.sly.app.Runner.runner;
+import static org.movealong.sly.app.Service.rebindable;
+import static org.movealong.sly.app.Service.service;
+import static org.movealong.sly.app.ServiceHandle.create;
+import static testsupport.matchers.IOMatcher.yieldsValue;
+
+class RebindableTest {
+
+    @Test
+    void swapsInstancesAndStopsTheOldOneWhenDrained() {
+        List<String>                                     stopped        = new CopyOnWriteArrayList<>();
+        ServiceHandle<String>                            prefixKey      = create();
+        ServiceHandle<Rebindable<String>>                configKey      = create();
+        ServiceHandle<Runner<String, IO<?>, IO<String>>> producerHandle = create();
+
+        assertThat(run(bind(prefixKey, service(io("v")))
+                           .andThen(bind(configKey, rebindable(service(prefixKey, p -> service(io(p + "1"))),
+                                                               c -> io(() -> {
+                                                                   stopped.add(c);
+                                                               }))))
+                           .andThen(bind(producerHandle, service(configKey, config -> service(io(runner(
+                               () -> config.using(old -> config.rebind(service(io("v2")))
+                                       .flatMap(u -> io(() -> old + " stopped=" + stopped)))
+                                   .flatMap(first -> config.using(c -> io(first + " then " + c)))))))))
+                           .andThen(resolve(producerHandle))),
+                   yieldsValue(equalTo("v1 stopped=[] then v2")));
+        assertThat(stopped, equalTo(List.of("v1")));
+    }
+
+    @Test
+    void stopsTheCurrentInstanceWhenStopped() {
+        List<String>       stopped    = new CopyOnWriteArrayList<>();
+        Rebindable<String> rebindable = new Rebindable<>(null, c -> io(() -> {
+            stopped.add(c);
+        }), "only");
+
+        rebindable.<IO<Stopper<IO<?>>>>start()
+            .flatMap(stopper -> stopper.<IO<Unit>>stop())
+            .unsafePerformIO();
+
+        assertThat(stopped, equalTo(List.of("only")));
+        assertThrows(IllegalStateException.class, () -> rebindable.using(s -> io(s)).unsafePerformIO());
+    }
+
+    @Test
+    void stopsAnInstanceReboundAfterStopping() {
+        List<String>       stopped    = new CopyOnWriteArrayList<>();
+        Rebindable<String> rebindable = new Rebindable<>(new Services() {
+            @Override
+            public <A> IO<A> resolve(ServiceHandle<A> key) {
+                return throwing(new ServiceException("Binding missing", key));
+            }
+        }, c -> io(() -> {
+            stopped.add(c);
+        }), "first");
+
+        rebindable.<IO<Stopper<IO<?>>>>start()
+            .flatMap(stopper -> stopper.<IO<Unit>>stop())
+            .unsafePerformIO();
+
+        assertThrows(IllegalStateException.class,
+                     () -> rebindable.rebind(service(io("second"))).unsafePerformIO());
+        assertThat(stopped, equalTo(List.of("first", "second")));
+        assertThrows(IllegalStateException.class, () -> rebindable.using(s -> io(s)).unsafePerformIO());
+    }
+}
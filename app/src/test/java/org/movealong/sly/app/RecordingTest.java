@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.app;
+
+import com.jnape.palatable.lambda.adt.Unit;
+import com.jnape.palatable.lambda.io.IO;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static com.jnape.palatable.lambda.adt.Unit.UNIT;
+import static com.jnape.palatable.lambda.io.IO.io;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.movealong.sly.app.App.bind;
+import static org.movealong.sly.app.App.resolve;
+import static org.movealong.sly.app.App.run;
+import static org.movealong.sly.app.Runner.runner;
+import static org.movealong.sly.app.Service.service;
+import static org.movealong.sly.app.ServiceHandle.create;
+import static org.movealong.sly.app.Stopper.stopper;
+
+class RecordingTest {
+
+    @Test
+    void recordsResolutionStartAndStop() throws Exception {
+        ServiceHandle<String>                            aKey           = create();
+        ServiceHandle<Runner<String, IO<?>, IO<String>>> producerHandle = create();
+
+        List<RecordedEvent> events;
+        try (jdk.jfr.Recording recording = new jdk.jfr.Recording()) {
+            recording.enable("org.movealong.sly.app.Resolve");
+            recording.enable("org.movealong.sly.app.Start");
+            recording.enable("org.movealong.sly.app.Stop");
+            recording.start();
+
+            run(bind(aKey, service(io("a")))
+                    .andThen(bind(producerHandle, service(aKey, a -> service(io(runner(() -> io(a)))))))
+                    .andThen(resolve(producerHandle)));
+            Starter.recorded("component", Starter.<IO<?>>starter(() -> io(stopper(() -> io(UNIT)))))
+                .<IO<Stopper<IO<?>>>>start()
+                .flatMap(stopper -> stopper.<IO<Unit>>stop())
+                .unsafePerformIO();
+
+            recording.stop();
+            Path file = Files.createTempFile("sly-app", ".jfr");
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+            Files.delete(file);
+        }
+
+        assertThat(count(events, "org.movealong.sly.app.Resolve"), equalTo(2L));
+        assertThat(count(events, "org.movealong.sly.app.Start"), equalTo(1L));
+        assertThat(count(events, "org.movealong.sly.app.Stop"), equalTo(1L));
+    }
+
+    private static long count(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).count();
+    }
+}
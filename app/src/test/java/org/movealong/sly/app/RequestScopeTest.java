@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.app;
+
+import com.jnape.palatable.lambda.io.IO;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.jnape.palatable.lambda.io.IO.io;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.movealong.sly.app.App.bind;
+import static org.movealong.sly.app.App.memoizing;
+import static org.movealong.sly.app.App.resolve;
+import static org.movealong.sly.app.App.run;
+import static org.movealong.sly.app.RequestScope.within;
+import static org.movealong.sly.app.Runner.runner;
+import static org.movealong.sly.app.Service.provider;
+import static org.movealong.sly.app.Service.requestScoped;
+import static org.movealong.sly.app.Service.service;
+import static org.movealong.sly.app.ServiceHandle.create;
+import static testsupport.matchers.IOMatcher.yieldsValue;
+
+class RequestScopeTest {
+
+    @Test
+    void resolvesOncePerRequest() {
+        AtomicInteger                                    constructions  = new AtomicInteger();
+        ServiceHandle<Integer>                           requestKey     = create();
+        ServiceHandle<String>                            aKey           = create();
+        ServiceHandle<String>                            bKey           = create();
+        ServiceHandle<Runner<String, IO<?>, IO<String>>> producerHandle = create();
+
+        assertThat(run(memoizing()
+                           .andThen(bind(requestKey, requestScoped(service(io(() -> constructions.incrementAndGet())))))
+                           .andThen(bind(aKey, requestScoped(service(requestKey, n -> service(io("a" + n))))))
+                           .andThen(bind(bKey, requestScoped(service(requestKey, n -> service(io("b" + n))))))
+                           .andThen(bind(producerHandle, provider(aKey).flatMap(a -> provider(bKey).fmap(b -> runner(
+                               () -> within(a.get().flatMap(x -> b.get().fmap(y -> x + " " + y)))
+                                   .flatMap(first -> within(a.get().fmap(x -> first + " " + x))))))))
+                           .andThen(resolve(producerHandle))),
+                   yieldsValue(equalTo("a1 b1 a2")));
+        assertThat(constructions.get(), equalTo(2));
+    }
+
+    @Test
+    void failsOutsideOfARequest() {
+        ServiceHandle<Integer>                             requestKey     = create();
+        ServiceHandle<Runner<Integer, IO<?>, IO<Integer>>> producerHandle = create();
+
+        assertThrows(IllegalStateException.class,
+                     () -> run(bind(requestKey, requestScoped(service(io(1))))
+                                   .andThen(bind(producerHandle, provider(requestKey).fmap(p -> runner(p::get))))
+                                   .andThen(resolve(producerHandle))));
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.app;
+
+import com.jnape.palatable.lambda.io.IO;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.jnape.palatable.lambda.io.IO.io;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.movealong.sly.app.App.*;
+import static org.movealong.sly.app.RequestScope.within;
+import static org.movealong.sly.app.Runner.runner;
+import static org.movealong.sly.app.Service.lazy;
+import static org.movealong.sly.app.Service.provider;
+import static org.movealong.sly.app.Service.requestScoped;
+import static org.movealong.sly.app.Service.service;
+import static org.movealong.sly.app.ServiceHandle.create;
+import static testsupport.matchers.IOMatcher.yieldsValue;
+
+class ResolutionPlanTest {
+
+    @Test
+    void resolvesRepeatedly() {
+        AtomicInteger                                    constructions  = new AtomicInteger();
+        ServiceHandle<Integer>                           sharedKey      = create();
+        ServiceHandle<String>                            aKey           = create();
+        ServiceHandle<String>                            bKey           = create();
+        ServiceHandle<Runner<String, IO<?>, IO<String>>> producerHandle = create();
+
+        ResolutionPlan<Runner<String, IO<?>, IO<String>>> plan =
+            compile(bind(sharedKey, service(io(() -> constructions.incrementAndGet())))
+                        .andThen(bind(aKey, service(sharedKey, n -> service(io("a" + n)))))
+                        .andThen(bind(bKey, service(sharedKey, n -> service(io("b" + n)))))
+                        .andThen(bind(producerHandle, service(
+                            aKey, bKey, (a, b) -> service(io(runner(() -> io(a + " " + b))))))),
+                    producerHandle)
+                .unsafePerformIO();
+
+        assertThat(run(resolve(plan)), yieldsValue(equalTo("a1 b1")));
+        assertThat(run(resolve(plan)), yieldsValue(equalTo("a2 b2")));
+    }
+
+    @Test
+    void resolvesAgainAfterAFailedConstruction() {
+        AtomicInteger                                    attempts       = new AtomicInteger();
+        ServiceHandle<String>                            flakyKey       = create();
+        ServiceHandle<Runner<String, IO<?>, IO<String>>> producerHandle = create();
+
+        ResolutionPlan<Runner<String, IO<?>, IO<String>>> plan =
+            compile(bind(flakyKey, service(io(() -> {
+                        if (attempts.incrementAndGet() == 1)
+                            throw new IllegalStateException("first attempt fails");
+                        return "attempt " + attempts.get();
+                    })))
+                        .andThen(bind(producerHandle, provider(flakyKey).fmap(p -> runner(
+                            () -> p.get().catchError(t -> p.get()))))),
+                    producerHandle)
+                .unsafePerformIO();
+
+        assertThat(run(resolve(plan)), yieldsValue(equalTo("attempt 2")));
+    }
+
+    @Test
+    void resolvesFromAnotherThreadDuringAConstruction() {
+        ServiceHandle<String>                            bKey           = create();
+        ServiceHandle<String>                            aKey           = create();
+        ServiceHandle<Runner<String, IO<?>, IO<String>>> producerHandle = create();
+
+        ResolutionPlan<Runner<String, IO<?>, IO<String>>> plan =
+            compile(bind(bKey, service(io("b")))
+                        .andThen(bind(aKey, lazy(bKey).flatMap(b -> service(io(
+                            () -> "a with " + b.get().unsafePerformAsyncIO().get(5, SECONDS))))))
+                        .andThen(bind(producerHandle, service(aKey, a -> service(io(runner(() -> io(a))))))),
+                    producerHandle)
+                .unsafePerformIO();
+
+        assertThat(run(resolve(plan)), yieldsValue(equalTo("a with b")));
+    }
+
+    @Test
+    void detectsMissingBindingWithoutResolving() {
+        AtomicInteger                                    constructions  = new AtomicInteger();
+        ServiceHandle<String>                            aKey           = create();
+        ServiceHandle<String>                            bKey           = create();
+        ServiceHandle<String>                            unusedKey      = create();
+        ServiceHandle<Runner<String, IO<?>, IO<String>>> producerHandle = create();
+
+        assertThrows(ServiceException.class,
+                     () -> compile(bind(aKey, service(io(() -> "a" + constructions.incrementAndGet())))
+                                       .andThen(bind(unusedKey, service(bKey, b -> service(io(b)))))
+                                       .andThen(bind(producerHandle, service(
+                                           aKey, a -> service(io(runner(() -> io(a))))))),
+                                   producerHandle)
+                         .unsafePerformIO());
+        assertThat(constructions.get(), equalTo(0));
+    }
+
+    @Test
+    void detectsResolutionCyclesWithoutResolving() {
+        ServiceHandle<String>                            aKey           = create();
+        ServiceHandle<String>                            bKey           = create();
+        ServiceHandle<Runner<String, IO<?>, IO<String>>> producerHandle = create();
+
+        assertThrows(ServiceException.class,
+                     () -> compile(bind(aKey, service(bKey, b -> service(io("service A depends on " + b))))
+                                       .andThen(bind(bKey, service(
+                                           aKey, a -> service(io("service B depends on " + a)))))
+                                       .andThen(bind(producerHandle, service(
+                                           aKey, a -> service(io(runner(() -> io("resolved: " + a))))))),
+                                   producerHandle)
+                         .unsafePerformIO());
+    }
+
+    @Test
+    void rejectsADeclaredDependencyOnARequestScopedService() {
+        ServiceHandle<Integer>                           requestKey     = create();
+        ServiceHandle<Runner<String, IO<?>, IO<String>>> producerHandle = create();
+
+        assertThrows(ServiceException.class,
+                     () -> compile(bind(requestKey, requestScoped(service(io(1))))
+                                       .andThen(bind(producerHandle, service(
+                                           requestKey, n -> service(io(runner(() -> io("request " + n))))))),
+                                   producerHandle)
+                         .unsafePerformIO());
+    }
+
+    @Test
+    void resolvesRequestScopedServicesConcurrently() throws Exception {
+        CountDownLatch                   arrived        = new CountDownLatch(2);
+        ServiceHandle<Boolean>           requestKey     = create();
+        ServiceHandle<Provider<Boolean>> providerHandle = create();
+        ExecutorService                  executor       = newFixedThreadPool(2);
+
+        Provider<Boolean> provider =
+            compile(bind(requestKey, requestScoped(service(io(() -> {
+                        arrived.countDown();
+                        return arrived.await(5, SECONDS);
+                    }))))
+                        .andThen(bind(providerHandle, provider(requestKey))),
+                    providerHandle)
+                .flatMap(ResolutionPlan::resolve)
+                .unsafePerformIO();
+
+        try {
+            CompletableFuture<Boolean> first  = within(provider.get()).unsafePerformAsyncIO(executor);
+            CompletableFuture<Boolean> second = within(provider.get()).unsafePerformAsyncIO(executor);
+            assertThat(first.get(10, SECONDS), equalTo(true));
+            assertThat(second.get(10, SECONDS), equalTo(true));
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.app;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.jnape.palatable.lambda.io.IO.io;
+import static com.jnape.palatable.lambda.io.IO.throwing;
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.StringContains.containsString;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.movealong.sly.app.App.bind;
+import static org.movealong.sly.app.App.graph;
+import static org.movealong.sly.app.Service.service;
+import static org.movealong.sly.app.ServiceHandle.create;
+
+class ServiceGraphTest {
+
+    @Test
+    void describesTheGraphWithoutResolving() {
+        ServiceHandle<Integer> sharedKey = create();
+        ServiceHandle<String>  aKey      = create();
+        ServiceHandle<String>  bKey      = create();
+        ServiceHandle<String>  topKey    = create();
+        ServiceHandle<String>  missing   = create();
+
+        ServiceGraph graph = graph(bind(sharedKey, service(throwing(new IllegalStateException("constructed"))))
+            .andThen(bind(aKey, service(sharedKey, n -> service(io("a" + n)))))
+            .andThen(bind(bKey, service(missing, s -> service(io("b" + s)))))
+            .andThen(bind(topKey, service(aKey, bKey, (a, b) -> service(io(a + b))))))
+            .unsafePerformIO();
+
+        assertThat(graph.getNodes().size(), equalTo(5));
+        assertThat(graph.getLongestChains(),
+                   equalTo(List.of(asList(topKey, aKey, sharedKey))));
+        assertThat(graph.toDot(), containsString("h" + topKey.ordinal() + " -> h" + aKey.ordinal() + ";"));
+        assertThat(graph.toDot(), containsString("h" + missing.ordinal() + " [label="));
+        assertThat(graph.toJson(), containsString("\"longestChains\":[["
+                                                  + topKey.ordinal() + "," + aKey.ordinal() + "," + sharedKey.ordinal()));
+    }
+
+    @Test
+    void drawsOneEdgeForADependencyDeclaredTwice() {
+        ServiceHandle<Integer> sharedKey = create();
+        ServiceHandle<Integer> topKey    = create();
+
+        ServiceGraph graph = graph(bind(sharedKey, service(io(1)))
+            .andThen(bind(topKey, service(sharedKey, sharedKey, (a, b) -> service(io(a + b))))))
+            .unsafePerformIO();
+
+        String edge = "h" + topKey.ordinal() + " -> h" + sharedKey.ordinal() + ";";
+        String dot  = graph.toDot();
+        assertThat(graph.getNodes().get(1).getDependencies(), equalTo(List.<ServiceHandle<?>>of(sharedKey)));
+        assertThat(dot.indexOf(edge), equalTo(dot.lastIndexOf(edge)));
+        assertThat(graph.toJson(), containsString("\"dependencies\":[" + sharedKey.ordinal() + "]"));
+    }
+
+    @Test
+    void detectsDependencyCycles() {
+        ServiceHandle<String> aKey = create();
+        ServiceHandle<String> bKey = create();
+
+        assertThrows(ServiceException.class,
+                     () -> graph(bind(aKey, service(bKey, b -> service(io(b))))
+                                     .andThen(bind(bKey, service(aKey, a -> service(io(a))))))
+                         .unsafePerformIO());
+    }
+}
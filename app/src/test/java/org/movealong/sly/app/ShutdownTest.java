@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.app;
+
+import com.jnape.palatable.lambda.io.IO;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.jnape.palatable.lambda.adt.Unit.UNIT;
+import static com.jnape.palatable.lambda.io.IO.io;
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofSeconds;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.movealong.sly.app.Shutdown.shutdown;
+import static org.movealong.sly.app.Stopper.stopper;
+
+class ShutdownTest {
+
+    @Test
+    void abandonsComponentsThatOverrunTheirBudget() {
+        ExecutorService                 executor = newCachedThreadPool();
+        CountDownLatch                  hung     = new CountDownLatch(1);
+        AtomicBoolean                   stopped  = new AtomicBoolean();
+        AtomicReference<ShutdownReport> report   = new AtomicReference<>();
+        Shutdown                        shutdown = shutdown(ofSeconds(5), executor, r -> io(() -> report.set(r)));
+
+        try {
+            shutdown.stop(shutdown.budgeted("hung", ofMillis(50), hanging(hung))
+                              .andThen(shutdown.budgeted("quick", ofSeconds(5), stopper(() -> io(() -> {
+                                  stopped.set(true);
+                              })))))
+                .unsafePerformIO();
+
+            assertThat(stopped.get(), equalTo(true));
+            assertThat(report.get().isCompleted(), equalTo(true));
+            assertThat(report.get().getOverruns().size(), equalTo(1));
+            assertThat(report.get().getOverruns().get(0).getComponent(), equalTo("hung"));
+        } finally {
+            hung.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void waitsOnBudgetsWithoutHoldingAThread() {
+        ExecutorService                 executor = newFixedThreadPool(2);
+        CountDownLatch                  hung     = new CountDownLatch(1);
+        AtomicBoolean                   stopped  = new AtomicBoolean();
+        AtomicReference<ShutdownReport> report   = new AtomicReference<>();
+        Shutdown                        shutdown = shutdown(ofSeconds(5), executor, r -> io(() -> report.set(r)));
+
+        try {
+            shutdown.stop(shutdown.budgeted("hung", ofMillis(50), hanging(hung))
+                              .andThen(shutdown.budgeted("quick", ofSeconds(2), stopper(() -> io(() -> {
+                                  stopped.set(true);
+                              })))))
+                .unsafePerformIO();
+
+            assertThat(stopped.get(), equalTo(true));
+            assertThat(report.get().getOverruns().size(), equalTo(1));
+            assertThat(report.get().getOverruns().get(0).getComponent(), equalTo("hung"));
+        } finally {
+            hung.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void reportsTheOverrunsOfEachStopSeparately() {
+        ExecutorService                 executor = newCachedThreadPool();
+        CountDownLatch                  hung     = new CountDownLatch(1);
+        AtomicReference<ShutdownReport> report   = new AtomicReference<>();
+        Shutdown                        shutdown = shutdown(ofSeconds(5), executor, r -> io(() -> report.set(r)));
+        Stopper<IO<?>>                  stopper  = shutdown.budgeted("hung", ofMillis(50), hanging(hung));
+
+        try {
+            shutdown.stop(stopper).unsafePerformIO();
+            shutdown.stop(stopper).unsafePerformIO();
+
+            assertThat(report.get().getOverruns().size(), equalTo(1));
+        } finally {
+            hung.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void reportsAnExceededDeadline() {
+        ExecutorService                 executor = newCachedThreadPool();
+        CountDownLatch                  hung     = new CountDownLatch(1);
+        AtomicReference<ShutdownReport> report   = new AtomicReference<>();
+        Shutdown                        shutdown = shutdown(ofMillis(50), executor, r -> io(() -> report.set(r)));
+
+        try {
+            shutdown.stop(hanging(hung)).unsafePerformIO();
+
+            assertThat(report.get().isCompleted(), equalTo(false));
+            assertThat(report.get().getOverruns().size(), equalTo(0));
+        } finally {
+            hung.countDown();
+            executor.shutdown();
+        }
+    }
+
+    private static Stopper<IO<?>> hanging(CountDownLatch latch) {
+        return stopper(() -> io(() -> {
+            latch.await();
+            return UNIT;
+        }));
+    }
+}
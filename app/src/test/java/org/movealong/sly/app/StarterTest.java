@@ -15,18 +15,38 @@
  */
 package org.movealong.sly.app;
 
+import com.jnape.palatable.lambda.adt.Unit;
 import com.jnape.palatable.lambda.functor.builtin.Writer;
+import com.jnape.palatable.lambda.io.IO;
 import com.jnape.palatable.shoki.impl.StrictQueue;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
 import static com.jnape.palatable.lambda.adt.Unit.UNIT;
 import static com.jnape.palatable.lambda.adt.hlist.HList.tuple;
 import static com.jnape.palatable.lambda.functor.builtin.Writer.tell;
 import static com.jnape.palatable.lambda.functor.builtin.Writer.writer;
+import static com.jnape.palatable.lambda.io.IO.io;
+import static com.jnape.palatable.lambda.io.IO.throwing;
 import static com.jnape.palatable.lambda.monoid.Monoid.monoid;
 import static com.jnape.palatable.shoki.impl.StrictQueue.strictQueue;
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofSeconds;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.movealong.sly.app.Starter.parallel;
 import static org.movealong.sly.app.Starter.starter;
+import static org.movealong.sly.app.Starter.warmingUp;
 import static org.movealong.sly.app.Stopper.stopper;
 import static org.movealong.sly.matchers.jdk.IterableMatcher.iterates;
 
@@ -48,6 +68,114 @@ class StarterTest {
                             "stopping outer"));
     }
 
+    @Test
+    void warmsUpBeforeStartingTheNextComponent() {
+        AtomicInteger                       runs     = new AtomicInteger();
+        AtomicInteger                       atStart  = new AtomicInteger(-1);
+        AtomicReference<WarmupReport>       report   = new AtomicReference<>();
+        Runner<Integer, IO<?>, IO<Integer>> warmup   = () -> io(() -> runs.incrementAndGet());
+        Starter<IO<?>>                      listener = starter(() -> io(() -> {
+            atStart.set(runs.get());
+            return Stopper.<IO<?>>stopper(() -> io(UNIT));
+        }));
+
+        warmingUp(ofMillis(20),
+                  asList(warmup, warmup),
+                  r -> io(() -> report.set(r)))
+            .andThen(listener)
+            .<IO<Stopper<IO<?>>>>start()
+            .unsafePerformIO();
+
+        assertThat(report.get().getIterations() > 0, equalTo(true));
+        assertThat(runs.get(), equalTo(report.get().getIterations() * 2));
+        assertThat(atStart.get(), equalTo(runs.get()));
+    }
+
+    @Test
+    void finishesWarmingUpAtOnceWithoutRunners() {
+        AtomicReference<WarmupReport> report = new AtomicReference<>();
+
+        warmingUp(ofSeconds(30), emptyList(), r -> io(() -> report.set(r)))
+            .<IO<Stopper<IO<?>>>>start()
+            .unsafePerformIO();
+
+        assertThat(report.get().getIterations(), equalTo(0));
+        assertThat(report.get().getElapsed().compareTo(ofSeconds(1)) < 0, equalTo(true));
+    }
+
+    @Test
+    void parallelStartsAndStopsConcurrently() {
+        ExecutorService executor = newFixedThreadPool(2);
+        CountDownLatch  started  = new CountDownLatch(2);
+        CountDownLatch  stopped  = new CountDownLatch(2);
+        try {
+            parallel(executor, latchStarter(started, stopped), latchStarter(started, stopped))
+                .<IO<Stopper<IO<?>>>>start()
+                .flatMap(stopper -> stopper.<IO<Unit>>stop())
+                .unsafePerformIO();
+            assertThat(stopped.getCount(), equalTo(0L));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void parallelStopsStartedComponentsOnFailure() {
+        ExecutorService executor = newFixedThreadPool(2);
+        AtomicBoolean   stopped  = new AtomicBoolean();
+        try {
+            Starter<IO<?>> failing    = starter(() -> throwing(new IllegalStateException("failed to start")));
+            Starter<IO<?>> succeeding = starter(() -> io(stopper(() -> io(() -> stopped.set(true)))));
+            assertThrows(IllegalStateException.class,
+                         () -> parallel(executor, succeeding, failing)
+                             .<IO<Stopper<IO<?>>>>start()
+                             .unsafePerformIO());
+            assertThat(stopped.get(), equalTo(true));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void nestsParallelCompositionsOnASingleThread() throws Exception {
+        ExecutorService executor = newFixedThreadPool(1);
+        AtomicInteger   started  = new AtomicInteger();
+        AtomicInteger   stopped  = new AtomicInteger();
+        Starter<IO<?>>  counting = starter(() -> io(() -> {
+            started.incrementAndGet();
+            return stopper(() -> io(() -> {
+                stopped.incrementAndGet();
+            }));
+        }));
+        try {
+            parallel(executor,
+                     parallel(executor, counting, counting),
+                     parallel(executor, counting, parallel(executor, counting, counting)))
+                .<IO<Stopper<IO<?>>>>start()
+                .flatMap(stopper -> stopper.<IO<Unit>>stop())
+                .unsafePerformAsyncIO(executor)
+                .get(5, SECONDS);
+            assertThat(started.get(), equalTo(5));
+            assertThat(stopped.get(), equalTo(5));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static Starter<IO<?>> latchStarter(CountDownLatch started, CountDownLatch stopped) {
+        return starter(() -> io(() -> {
+            started.countDown();
+            if (!started.await(5, SECONDS))
+                throw new IllegalStateException("not started concurrently");
+            return stopper(() -> io(() -> {
+                stopped.countDown();
+                if (!stopped.await(5, SECONDS))
+                    throw new IllegalStateException("not stopped concurrently");
+                return UNIT;
+            }));
+        }));
+    }
+
     private static Starter<Writer<StrictQueue<String>, ?>> testStarter(String name) {
         return starter(() -> writer(tuple(stopper(() -> writer(tuple(UNIT, strictQueue("stopping " + name)))),
                                           strictQueue("starting " + name))));
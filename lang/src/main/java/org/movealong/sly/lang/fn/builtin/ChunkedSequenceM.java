@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.lang.fn.builtin;
+
+import com.jnape.palatable.lambda.adt.hlist.Tuple2;
+import com.jnape.palatable.lambda.functions.Fn1;
+import com.jnape.palatable.lambda.functions.Fn2;
+import com.jnape.palatable.lambda.functions.builtin.fn2.Sequence;
+import com.jnape.palatable.lambda.functions.recursion.RecursiveResult;
+import com.jnape.palatable.lambda.functions.specialized.Pure;
+import com.jnape.palatable.lambda.monad.Monad;
+import com.jnape.palatable.lambda.monad.MonadRec;
+import com.jnape.palatable.shoki.impl.StrictQueue;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static com.jnape.palatable.lambda.adt.hlist.HList.tuple;
+import static com.jnape.palatable.lambda.functions.builtin.fn1.Upcast.upcast;
+import static com.jnape.palatable.lambda.functions.builtin.fn2.$.$;
+import static com.jnape.palatable.shoki.impl.StrictQueue.strictQueue;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Given an <code>Iterable</code> of {@link MonadRec}s and a pure function for the {@link MonadRec}, fold the elements
+ * together to produce <code>MonadRec&lt;Iterable&lt;A&gt;, M&gt;</code>.
+ * <p>
+ * The elements are folded with {@link Monad#flatMap(Fn1)} in chunks of a fixed size, and the chunks are chained with
+ * {@link MonadRec#trampolineM(Fn1)}. The depth of nested <code>flatMap</code>s never exceeds the chunk size, so this
+ * function is stack safe with any {@link MonadRec}, including those for which {@link SequenceM} overflows the stack.
+ * Unlike {@link SafeSequenceM}, it does not wrap the elements in a {@link com.jnape.palatable.lambda.monad.SafeT}.
+ *
+ * @param <A> the carrier type
+ * @param <M> the {@link MonadRec} type
+ *
+ * @see Sequence
+ * @see SequenceM
+ * @see SafeSequenceM
+ */
+@RequiredArgsConstructor(access = PRIVATE)
+public final class ChunkedSequenceM<A, M extends MonadRec<?, M>> implements
+        Fn2<Pure<M>, Iterable<? extends MonadRec<A, M>>, MonadRec<Iterable<A>, M>> {
+
+    /**
+     * The number of elements folded together between trampoline steps when no chunk size is given.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 256;
+
+    private static final ChunkedSequenceM<?, ?> INSTANCE = new ChunkedSequenceM<>(DEFAULT_CHUNK_SIZE);
+
+    private final int chunkSize;
+
+    @Override
+    public MonadRec<Iterable<A>, M> checkedApply(Pure<M> pureM, Iterable<? extends MonadRec<A, M>> imas) {
+        List<MonadRec<A, M>> mas = imas instanceof Collection<?>
+                                   ? new ArrayList<>(((Collection<?>) imas).size())
+                                   : new ArrayList<>();
+        for (MonadRec<A, M> ma : imas)
+            mas.add(ma);
+        if (mas.isEmpty())
+            return pureM.<StrictQueue<A>, MonadRec<StrictQueue<A>, M>>apply(strictQueue()).fmap(upcast());
+
+        return pureM.<Tuple2<Integer, StrictQueue<A>>, MonadRec<Tuple2<Integer, StrictQueue<A>>, M>>apply(
+                        tuple(0, strictQueue()))
+                .trampolineM(into -> chunk(mas, into._1(), into._2()))
+                .fmap(upcast());
+    }
+
+    private MonadRec<RecursiveResult<Tuple2<Integer, StrictQueue<A>>, StrictQueue<A>>, M>
+    chunk(List<MonadRec<A, M>> mas, int from, StrictQueue<A> acc) {
+        int                         to    = Math.min(from + chunkSize, mas.size());
+        MonadRec<StrictQueue<A>, M> chunk = mas.get(from).fmap(acc::snoc);
+        for (int i = from + 1; i < to; i++) {
+            MonadRec<A, M> ma = mas.get(i);
+            chunk = chunk.flatMap(q -> ma.fmap(q::snoc));
+        }
+        return chunk.fmap(q -> to == mas.size()
+                               ? RecursiveResult.<Tuple2<Integer, StrictQueue<A>>, StrictQueue<A>>terminate(q)
+                               : RecursiveResult.<Tuple2<Integer, StrictQueue<A>>, StrictQueue<A>>recurse(tuple(to, q)));
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <A, M extends MonadRec<?, M>> ChunkedSequenceM<A, M> chunkedSequenceM() {
+        return (ChunkedSequenceM<A, M>) INSTANCE;
+    }
+
+    public static <A, M extends MonadRec<?, M>> ChunkedSequenceM<A, M> chunkedSequenceM(int chunkSize) {
+        if (chunkSize < 1)
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        return new ChunkedSequenceM<>(chunkSize);
+    }
+
+    public static <A, M extends MonadRec<?, M>> Fn1<Iterable<? extends MonadRec<A, M>>, MonadRec<Iterable<A>, M>>
+    chunkedSequenceM(Pure<M> pureM) {
+        return $(chunkedSequenceM(), pureM);
+    }
+
+    public static <A, M extends MonadRec<?, M>>
+    MonadRec<Iterable<A>, M> chunkedSequenceM(Pure<M> pureM, Iterable<? extends MonadRec<A, M>> imas) {
+        return $(chunkedSequenceM(pureM), imas);
+    }
+}
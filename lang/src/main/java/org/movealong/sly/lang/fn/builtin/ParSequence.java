@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.lang.fn.builtin;
+
+import com.jnape.palatable.lambda.functions.Fn1;
+import com.jnape.palatable.lambda.io.IO;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.Executor;
+
+import static lombok.AccessLevel.PRIVATE;
+import static org.movealong.sly.lang.fn.builtin.ParTraverse.parTraverse;
+
+/**
+ * Given an <code>Iterable</code> of {@link IO}s, produce an {@link IO} that performs them concurrently on an
+ * {@link Executor} and yields their results in the order of the input. Concurrency is bounded and failures
+ * short-circuit as described in {@link ParTraverse}.
+ *
+ * @param <A> the carrier type
+ *
+ * @see SequenceM
+ * @see ParTraverse
+ */
+@RequiredArgsConstructor(access = PRIVATE)
+public final class ParSequence<A> implements Fn1<Iterable<? extends IO<A>>, IO<Iterable<A>>> {
+
+    private final ParTraverse<IO<A>, A> parTraverse;
+
+    @Override
+    public IO<Iterable<A>> checkedApply(Iterable<? extends IO<A>> ios) {
+        return parTraverse.apply(io -> io, ios);
+    }
+
+    public static <A> ParSequence<A> parSequence(int maxConcurrency, Executor executor) {
+        return new ParSequence<>(parTraverse(maxConcurrency, executor));
+    }
+
+    public static <A> IO<Iterable<A>> parSequence(int maxConcurrency, Executor executor, Iterable<? extends IO<A>> ios) {
+        return ParSequence.<A>parSequence(maxConcurrency, executor).apply(ios);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.lang.fn.builtin;
+
+import com.jnape.palatable.lambda.functions.Fn1;
+import com.jnape.palatable.lambda.functions.Fn2;
+import com.jnape.palatable.lambda.io.IO;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.jnape.palatable.lambda.io.IO.externallyManaged;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Given a function from <code>A</code> to an {@link IO} and an <code>Iterable</code> of <code>A</code>, produce an
+ * {@link IO} that performs the resulting operations concurrently on an {@link Executor} and yields their results in
+ * the order of the input.
+ * <p>
+ * At most <code>maxConcurrency</code> operations are in flight at once. The first operation to fail completes the
+ * result with its exception, and no further operations are started; operations already in flight run to completion
+ * but their results are discarded. Cancelling the future returned by {@link IO#unsafePerformAsyncIO()} likewise stops
+ * further operations from starting.
+ *
+ * @param <A> the input element type
+ * @param <B> the output element type
+ *
+ * @see Traverse
+ * @see ParSequence
+ */
+@RequiredArgsConstructor(access = PRIVATE)
+public final class ParTraverse<A, B> implements Fn2<Fn1<? super A, ? extends IO<B>>, Iterable<? extends A>, IO<Iterable<B>>> {
+
+    private final int      maxConcurrency;
+    private final Executor executor;
+
+    @Override
+    public IO<Iterable<B>> checkedApply(Fn1<? super A, ? extends IO<B>> fn, Iterable<? extends A> as) {
+        return externallyManaged(() -> new Run<A, B>(fn, as).start(maxConcurrency, executor));
+    }
+
+    public static <A, B> ParTraverse<A, B> parTraverse(int maxConcurrency, Executor executor) {
+        if (maxConcurrency < 1)
+            throw new IllegalArgumentException("Maximum concurrency must be positive: " + maxConcurrency);
+        return new ParTraverse<>(maxConcurrency, executor);
+    }
+
+    public static <A, B> Fn1<Iterable<? extends A>, IO<Iterable<B>>>
+    parTraverse(int maxConcurrency, Executor executor, Fn1<? super A, ? extends IO<B>> fn) {
+        return ParTraverse.<A, B>parTraverse(maxConcurrency, executor).apply(fn);
+    }
+
+    public static <A, B> IO<Iterable<B>>
+    parTraverse(int maxConcurrency, Executor executor, Fn1<? super A, ? extends IO<B>> fn, Iterable<? extends A> as) {
+        return ParTraverse.<A, B>parTraverse(maxConcurrency, executor, fn).apply(as);
+    }
+
+    private static final class Run<A, B> {
+        private final Fn1<? super A, ? extends IO<B>> fn;
+        private final List<A>                         inputs;
+        private final Object[]                        results;
+        private final AtomicInteger                   next;
+        private final AtomicInteger                   remaining;
+        private final CompletableFuture<Iterable<B>>  done;
+
+        private Run(Fn1<? super A, ? extends IO<B>> fn, Iterable<? extends A> as) {
+            this.fn = fn;
+            this.inputs = as instanceof Collection<?>
+                          ? new ArrayList<>(((Collection<?>) as).size())
+                          : new ArrayList<>();
+            for (A a : as)
+                inputs.add(a);
+            this.results = new Object[inputs.size()];
+            this.next = new AtomicInteger();
+            this.remaining = new AtomicInteger(inputs.size());
+            this.done = new CompletableFuture<>();
+        }
+
+        CompletableFuture<Iterable<B>> start(int maxConcurrency, Executor executor) {
+            if (inputs.isEmpty()) {
+                done.complete(emptyList());
+                return done;
+            }
+            int workers = Math.min(maxConcurrency, inputs.size());
+            for (int i = 0; i < workers && !done.isDone(); i++) {
+                try {
+                    executor.execute(this::work);
+                } catch (RejectedExecutionException e) {
+                    done.completeExceptionally(e);
+                }
+            }
+            return done;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void work() {
+            int i;
+            while (!done.isDone() && (i = next.getAndIncrement()) < results.length) {
+                try {
+                    results[i] = fn.apply(inputs.get(i)).unsafePerformIO();
+                } catch (Throwable t) {
+                    done.completeExceptionally(t);
+                    return;
+                }
+                if (remaining.decrementAndGet() == 0)
+                    done.complete(unmodifiableList(asList((B[]) results)));
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.lang.functor.builtin;
+
+import com.jnape.palatable.lambda.functions.Fn1;
+import com.jnape.palatable.lambda.functor.Functor;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.CompletableFuture;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * A {@link Functor} over a {@link CompletableFuture}, representing a value
+ * that is being computed asynchronously. Mapping over an <code>Async</code>
+ * does not wait for the value; the function is applied when the value
+ * becomes available.
+ *
+ * @param <A> the value type
+ */
+@RequiredArgsConstructor(access = PRIVATE)
+public final class Async<A> implements Functor<A, Async<?>> {
+    private final CompletableFuture<A> future;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <B> Async<B> fmap(Fn1<? super A, ? extends B> fn) {
+        return new Async<>(future.<B>thenApply(fn::apply));
+    }
+
+    /**
+     * The {@link CompletableFuture} that computes the value.
+     *
+     * @return a {@link CompletableFuture}
+     */
+    public CompletableFuture<A> toCompletableFuture() {
+        return future;
+    }
+
+    /**
+     * Wraps a {@link CompletableFuture} in an <code>Async</code>.
+     *
+     * @param <A>    the value type
+     * @param future the {@link CompletableFuture}
+     * @return an <code>Async</code>
+     */
+    public static <A> Async<A> async(CompletableFuture<A> future) {
+        return new Async<>(future);
+    }
+}
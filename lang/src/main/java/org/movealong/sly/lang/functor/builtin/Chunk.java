@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.lang.functor.builtin;
+
+import com.jnape.palatable.lambda.functions.Fn1;
+import com.jnape.palatable.lambda.functor.Functor;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * An immutable, array-backed run of elements. A <code>Chunk</code> lets a
+ * stream carry many elements per step, and mapping or filtering a
+ * <code>Chunk</code> visits all of its elements in a single loop.
+ *
+ * @param <A> the element type
+ * @see org.movealong.sly.lang.hfn.Chunking
+ * @see org.movealong.sly.lang.hfn.Unchunking
+ */
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor(access = PRIVATE)
+public final class Chunk<A> implements Functor<A, Chunk<?>>, Iterable<A> {
+    private static final Chunk<?> EMPTY = new Chunk<>(new Object[0]);
+
+    private final Object[] elements;
+
+    /**
+     * The number of elements in this <code>Chunk</code>.
+     *
+     * @return the size
+     */
+    public int size() {
+        return elements.length;
+    }
+
+    /**
+     * The element at <code>index</code>.
+     *
+     * @param index the index of the element
+     * @return the element
+     * @throws IndexOutOfBoundsException if the index is negative or not less
+     *                                   than the size
+     */
+    @SuppressWarnings("unchecked")
+    public A get(int index) {
+        return (A) elements[index];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <B> Chunk<B> fmap(Fn1<? super A, ? extends B> fn) {
+        Object[] mapped = new Object[elements.length];
+        for (int i = 0; i < elements.length; i++)
+            mapped[i] = fn.apply((A) elements[i]);
+        return new Chunk<>(mapped);
+    }
+
+    /**
+     * The elements of this <code>Chunk</code> that satisfy
+     * <code>predicate</code>, in order.
+     *
+     * @param predicate the predicate
+     * @return a <code>Chunk</code> of the matching elements
+     */
+    @SuppressWarnings("unchecked")
+    public Chunk<A> filter(Fn1<? super A, ? extends Boolean> predicate) {
+        Object[] kept  = new Object[elements.length];
+        int      count = 0;
+        for (Object element : elements)
+            if (predicate.apply((A) element))
+                kept[count++] = element;
+        return count == elements.length ? this : new Chunk<>(Arrays.copyOf(kept, count));
+    }
+
+    @Override
+    public Iterator<A> iterator() {
+        return new Iterator<>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < elements.length;
+            }
+
+            @Override
+            public A next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                return get(index++);
+            }
+        };
+    }
+
+    /**
+     * The empty <code>Chunk</code>.
+     *
+     * @param <A> the element type
+     * @return an empty <code>Chunk</code>
+     */
+    @SuppressWarnings("unchecked")
+    public static <A> Chunk<A> emptyChunk() {
+        return (Chunk<A>) EMPTY;
+    }
+
+    /**
+     * A <code>Chunk</code> of the elements of <code>as</code>, in iteration
+     * order.
+     *
+     * @param <A> the element type
+     * @param as  the elements
+     * @return a <code>Chunk</code>
+     */
+    public static <A> Chunk<A> chunk(Iterable<? extends A> as) {
+        if (as instanceof Collection<?>)
+            return new Chunk<>(((Collection<?>) as).toArray());
+        Object[] elements = new Object[16];
+        int      count    = 0;
+        for (A a : as) {
+            if (count == elements.length)
+                elements = Arrays.copyOf(elements, count * 2);
+            elements[count++] = a;
+        }
+        return new Chunk<>(Arrays.copyOf(elements, count));
+    }
+
+    /**
+     * A <code>Chunk</code> of the given elements.
+     *
+     * @param <A> the element type
+     * @param as  the elements
+     * @return a <code>Chunk</code>
+     */
+    @SafeVarargs
+    public static <A> Chunk<A> chunk(A... as) {
+        return new Chunk<>(Arrays.copyOf(as, as.length, Object[].class));
+    }
+}
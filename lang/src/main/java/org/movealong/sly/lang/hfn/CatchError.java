@@ -32,6 +32,24 @@ public final class CatchError<M extends MonadError<E, ?, M>, E, A> implements Hy
         return fa.<MonadError<E, A, M>>coerce().catchError(fn).coerce();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A following <code>CatchError</code> is fused with this one into a single
+     * <code>CatchError</code> whose recovery is itself recovered by the
+     * following one, so that the monad is only traversed once.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <H extends Functor<?, H>, C> HyperFn<M, A, H, C> andThen(HyperFn<M, A, H, C> hf) {
+        if (hf instanceof CatchError<?, ?, ?>) {
+            CatchError<M, E, A> next = (CatchError<M, E, A>) (HyperFn<?, ?, ?, ?>) hf;
+            return (HyperFn<M, A, H, C>) (HyperFn<?, ?, ?, ?>)
+                new CatchError<M, E, A>(e -> next.<Monad<A, M>>apply(fn.apply(e)));
+        }
+        return HyperFn.super.andThen(hf);
+    }
+
     /**
      * A {@link HyperFn} that implements a standalone version of
      * {@link MonadError#catchError}.
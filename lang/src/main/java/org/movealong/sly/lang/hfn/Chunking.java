@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.lang.hfn;
+
+import com.jnape.palatable.lambda.adt.Maybe;
+import com.jnape.palatable.lambda.adt.hlist.Tuple2;
+import com.jnape.palatable.lambda.adt.hlist.Tuple3;
+import com.jnape.palatable.lambda.functions.recursion.RecursiveResult;
+import com.jnape.palatable.lambda.functions.specialized.Pure;
+import com.jnape.palatable.lambda.functor.Functor;
+import com.jnape.palatable.lambda.monad.MonadRec;
+import com.jnape.palatable.shoki.impl.StrictQueue;
+import com.jnape.palatable.winterbourne.StreamT;
+import lombok.AllArgsConstructor;
+import org.movealong.sly.lang.functor.builtin.Chunk;
+
+import static com.jnape.palatable.lambda.adt.Maybe.just;
+import static com.jnape.palatable.lambda.adt.Maybe.nothing;
+import static com.jnape.palatable.lambda.adt.hlist.HList.tuple;
+import static com.jnape.palatable.lambda.functions.recursion.RecursiveResult.recurse;
+import static com.jnape.palatable.lambda.functions.recursion.RecursiveResult.terminate;
+import static lombok.AccessLevel.PRIVATE;
+import static org.movealong.sly.lang.functor.builtin.Chunk.chunk;
+
+/**
+ * A {@link HyperFn} that regroups the elements of a {@link StreamT} into
+ * {@link Chunk}s of a fixed size. Every chunk but the last holds exactly that
+ * many elements; the last holds whatever remains. Steps of the input stream
+ * that carry no element are dropped.
+ *
+ * @param <M> the argument {@link MonadRec}
+ * @param <A> the element type
+ * @see Unchunking
+ * @see MappingChunks
+ * @see FilteringChunks
+ */
+@AllArgsConstructor(access = PRIVATE)
+public final class Chunking<M extends MonadRec<?, M>, A> implements
+    HyperFn<StreamT<M, ?>, A, StreamT<M, ?>, Chunk<A>> {
+
+    private final int size;
+
+    @Override
+    public <GB extends Functor<Chunk<A>, StreamT<M, ?>>> GB apply(Functor<A, StreamT<M, ?>> fa) {
+        StreamT<M, A> stream = fa.coerce();
+        Pure<M>       pureM  = Pure.of(stream.runStreamT());
+        MonadRec<Maybe<StreamT<M, A>>, M> start  = pureM.apply(just(stream));
+        StreamT<M, Chunk<A>>              chunks = StreamT.unfold(
+            next -> next.match(__ -> exhausted(pureM), rest -> fill(pureM, rest)),
+            start);
+        return chunks.coerce();
+    }
+
+    private MonadRec<Maybe<Tuple2<Maybe<Chunk<A>>, Maybe<StreamT<M, A>>>>, M> exhausted(Pure<M> pureM) {
+        return pureM.apply(nothing());
+    }
+
+    private MonadRec<Maybe<Tuple2<Maybe<Chunk<A>>, Maybe<StreamT<M, A>>>>, M> fill(Pure<M> pureM, StreamT<M, A> stream) {
+        MonadRec<Tuple3<Integer, StrictQueue<A>, StreamT<M, A>>, M> start =
+            pureM.apply(tuple(0, StrictQueue.<A>strictQueue(), stream));
+        return start.trampolineM(state -> state._3().runStreamT().fmap(node -> node.match(
+            __ -> ended(state),
+            headAndTail -> advanced(state, headAndTail._1(), headAndTail._2()))));
+    }
+
+    private RecursiveResult<Tuple3<Integer, StrictQueue<A>, StreamT<M, A>>, Maybe<Tuple2<Maybe<Chunk<A>>, Maybe<StreamT<M, A>>>>>
+    ended(Tuple3<Integer, StrictQueue<A>, StreamT<M, A>> state) {
+        return terminate(emit(state._2(), nothing()));
+    }
+
+    private RecursiveResult<Tuple3<Integer, StrictQueue<A>, StreamT<M, A>>, Maybe<Tuple2<Maybe<Chunk<A>>, Maybe<StreamT<M, A>>>>>
+    advanced(Tuple3<Integer, StrictQueue<A>, StreamT<M, A>> state, Maybe<A> head, StreamT<M, A> tail) {
+        int            count = head.match(__ -> state._1(), a -> state._1() + 1);
+        StrictQueue<A> queue = head.match(__ -> state._2(), state._2()::snoc);
+        return count < size
+               ? recurse(tuple(count, queue, tail))
+               : terminate(emit(queue, just(tail)));
+    }
+
+    private Maybe<Tuple2<Maybe<Chunk<A>>, Maybe<StreamT<M, A>>>> emit(StrictQueue<A> queue, Maybe<StreamT<M, A>> next) {
+        return queue.isEmpty() ? nothing() : just(tuple(just(chunk(queue)), next));
+    }
+
+    /**
+     * A {@link HyperFn} that regroups a {@link StreamT} into {@link Chunk}s
+     * of <code>size</code> elements.
+     *
+     * @param <M>  the argument {@link MonadRec}
+     * @param <A>  the element type
+     * @param size the number of elements in each chunk
+     * @return a <code>HyperFn</code> that chunks a {@link StreamT}
+     */
+    public static <M extends MonadRec<?, M>, A> Chunking<M, A> chunking(int size) {
+        if (size < 1)
+            throw new IllegalArgumentException("Chunk size must be positive: " + size);
+        return new Chunking<>(size);
+    }
+}
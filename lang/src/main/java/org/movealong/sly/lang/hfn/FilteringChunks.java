@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.lang.hfn;
+
+import com.jnape.palatable.lambda.functions.Fn1;
+import com.jnape.palatable.lambda.functor.Functor;
+import com.jnape.palatable.lambda.monad.MonadRec;
+import com.jnape.palatable.winterbourne.StreamT;
+import lombok.AllArgsConstructor;
+import org.movealong.sly.lang.functor.builtin.Chunk;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * A {@link HyperFn} that keeps only the elements of a {@link StreamT} of
+ * {@link Chunk}s that satisfy a predicate. Each chunk is filtered in a single
+ * pass; a chunk may become smaller, or empty, but the number of steps in the
+ * stream is unchanged.
+ *
+ * @param <M> the argument {@link MonadRec}
+ * @param <A> the element type
+ * @see Chunking
+ */
+@AllArgsConstructor(access = PRIVATE)
+public final class FilteringChunks<M extends MonadRec<?, M>, A> implements
+    HyperFn<StreamT<M, ?>, Chunk<A>, StreamT<M, ?>, Chunk<A>> {
+
+    private final Fn1<? super A, ? extends Boolean> predicate;
+
+    @Override
+    public <GB extends Functor<Chunk<A>, StreamT<M, ?>>> GB apply(Functor<Chunk<A>, StreamT<M, ?>> fa) {
+        return fa.<Chunk<A>>fmap(chunk -> chunk.filter(predicate)).coerce();
+    }
+
+    /**
+     * A {@link HyperFn} that filters the elements of each {@link Chunk} in a
+     * {@link StreamT} by <code>predicate</code>.
+     *
+     * @param <M>       the argument {@link MonadRec}
+     * @param <A>       the element type
+     * @param predicate the predicate
+     * @return a <code>HyperFn</code> that filters chunks
+     */
+    public static <M extends MonadRec<?, M>, A> FilteringChunks<M, A> filteringChunks(Fn1<? super A, ? extends Boolean> predicate) {
+        return new FilteringChunks<>(predicate);
+    }
+}
@@ -31,6 +31,29 @@ public final class FlatMap<M extends Monad<?, M>, A, B, MB extends Monad<B, M>>
         return fa.<Monad<A, M>>coerce().flatMap(fn).coerce();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A following {@link Fmap} or <code>FlatMap</code> is fused with this one
+     * into a single <code>FlatMap</code> that applies the following arrow to
+     * the result of this one's function, so that the monad is only traversed
+     * once.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <H extends Functor<?, H>, C> HyperFn<M, A, H, C> andThen(HyperFn<M, B, H, C> hf) {
+        if (hf instanceof Fmap<?, ?, ?> || hf instanceof FlatMap<?, ?, ?, ?>) {
+            HyperFn<M, B, M, C> next = (HyperFn<M, B, M, C>) (HyperFn<?, ?, ?, ?>) hf;
+            return (HyperFn<M, A, H, C>) (HyperFn<?, ?, ?, ?>)
+                new FlatMap<M, A, C, Monad<C, M>>(a -> next.<Monad<C, M>>apply(fn.apply(a)));
+        }
+        return HyperFn.super.andThen(hf);
+    }
+
+    <Z> FlatMap<M, Z, B, MB> after(Fn1<? super Z, ? extends A> f) {
+        return new FlatMap<>(f.fmap(fn));
+    }
+
     /**
      * A {@link HyperFn} that implements a standalone version of
      * {@link Monad#flatMap}.
@@ -31,6 +31,28 @@ public final class Fmap<F extends Functor<?, F>, A, B> implements HyperFn<F, A,
         return fa.<B>fmap(fn).coerce();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A following <code>Fmap</code> is fused with this one into a single
+     * <code>Fmap</code> of the composed functions, and a following
+     * {@link FlatMap} into a single <code>FlatMap</code>, so that the functor
+     * is only traversed once.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <H extends Functor<?, H>, C> HyperFn<F, A, H, C> andThen(HyperFn<F, B, H, C> hf) {
+        if (hf instanceof Fmap<?, ?, ?>) {
+            Fmap<F, B, C> next = (Fmap<F, B, C>) (HyperFn<?, ?, ?, ?>) hf;
+            return (HyperFn<F, A, H, C>) (HyperFn<?, ?, ?, ?>) new Fmap<F, A, C>(fn.fmap(next.fn));
+        }
+        if (hf instanceof FlatMap<?, ?, ?, ?>) {
+            FlatMap<?, B, C, ?> next = (FlatMap<?, B, C, ?>) (HyperFn<?, ?, ?, ?>) hf;
+            return (HyperFn<F, A, H, C>) (HyperFn<?, ?, ?, ?>) next.after(fn);
+        }
+        return HyperFn.super.andThen(hf);
+    }
+
     /**
      * A {@link HyperFn} that implements a standalone version of
      * {@link Functor#fmap}.
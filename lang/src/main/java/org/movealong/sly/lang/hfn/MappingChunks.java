@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.lang.hfn;
+
+import com.jnape.palatable.lambda.functions.Fn1;
+import com.jnape.palatable.lambda.functor.Functor;
+import com.jnape.palatable.lambda.monad.MonadRec;
+import com.jnape.palatable.winterbourne.StreamT;
+import lombok.AllArgsConstructor;
+import org.movealong.sly.lang.functor.builtin.Chunk;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * A {@link HyperFn} that maps a function over every element of a
+ * {@link StreamT} of {@link Chunk}s, one whole chunk per step of the stream.
+ *
+ * @param <M> the argument {@link MonadRec}
+ * @param <A> the input element type
+ * @param <B> the output element type
+ * @see Chunking
+ */
+@AllArgsConstructor(access = PRIVATE)
+public final class MappingChunks<M extends MonadRec<?, M>, A, B> implements
+    HyperFn<StreamT<M, ?>, Chunk<A>, StreamT<M, ?>, Chunk<B>> {
+
+    private final Fn1<? super A, ? extends B> fn;
+
+    @Override
+    public <GB extends Functor<Chunk<B>, StreamT<M, ?>>> GB apply(Functor<Chunk<A>, StreamT<M, ?>> fa) {
+        return fa.<Chunk<B>>fmap(chunk -> chunk.fmap(fn)).coerce();
+    }
+
+    /**
+     * A {@link HyperFn} that maps <code>fn</code> over the elements of each
+     * {@link Chunk} in a {@link StreamT}.
+     *
+     * @param <M> the argument {@link MonadRec}
+     * @param <A> the input element type
+     * @param <B> the output element type
+     * @param fn  the mapping function
+     * @return a <code>HyperFn</code> that maps chunks
+     */
+    public static <M extends MonadRec<?, M>, A, B> MappingChunks<M, A, B> mappingChunks(Fn1<? super A, ? extends B> fn) {
+        return new MappingChunks<>(fn);
+    }
+}
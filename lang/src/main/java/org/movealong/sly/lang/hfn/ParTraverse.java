@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.lang.hfn;
+
+import com.jnape.palatable.lambda.functions.Fn1;
+import com.jnape.palatable.lambda.functor.Functor;
+import com.jnape.palatable.lambda.io.IO;
+import com.jnape.palatable.lambda.traversable.LambdaIterable;
+import lombok.AllArgsConstructor;
+
+import java.util.concurrent.Executor;
+
+import static com.jnape.palatable.lambda.traversable.LambdaIterable.wrap;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * A {@link HyperFn} that traverses a {@link LambdaIterable} with a function
+ * into {@link IO}, performing the resulting operations concurrently. It is the
+ * parallel counterpart of {@link Traverse} specialized to <code>IO</code>.
+ *
+ * @param <A> the input carrier type
+ * @param <B> the output carrier type
+ * @see org.movealong.sly.lang.fn.builtin.ParTraverse
+ */
+@AllArgsConstructor(access = PRIVATE)
+public class ParTraverse<A, B> implements HyperFn<LambdaIterable<?>, A, IO<?>, LambdaIterable<B>> {
+
+    private final org.movealong.sly.lang.fn.builtin.ParTraverse<A, B> parTraverse;
+    private final Fn1<? super A, ? extends IO<B>>                     fn;
+
+    @Override
+    public <GB extends Functor<LambdaIterable<B>, IO<?>>> GB apply(Functor<A, LambdaIterable<?>> fa) {
+        return parTraverse.apply(fn, fa.<LambdaIterable<A>>coerce().unwrap())
+            .<LambdaIterable<B>>fmap(bs -> wrap(bs))
+            .coerce();
+    }
+
+    /**
+     * A {@link HyperFn} that traverses a {@link LambdaIterable} with
+     * <code>fn</code>, performing at most <code>maxConcurrency</code> of the
+     * resulting operations at once on <code>executor</code>.
+     *
+     * @param maxConcurrency the maximum number of operations in flight
+     * @param executor       the {@link Executor} on which to perform the
+     *                       operations
+     * @param fn             the traversing function
+     * @param <A>            the input carrier type
+     * @param <B>            the output carrier type
+     * @return A <code>HyperFn</code> that traverses in parallel
+     */
+    public static <A, B> ParTraverse<A, B> parTraverse(int maxConcurrency,
+                                                       Executor executor,
+                                                       Fn1<? super A, ? extends IO<B>> fn) {
+        return new ParTraverse<>(org.movealong.sly.lang.fn.builtin.ParTraverse.<A, B>parTraverse(maxConcurrency, executor),
+                                 fn);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.lang.hfn;
+
+import com.jnape.palatable.lambda.adt.Maybe;
+import com.jnape.palatable.lambda.adt.hlist.Tuple2;
+import com.jnape.palatable.lambda.adt.hlist.Tuple3;
+import com.jnape.palatable.lambda.functions.specialized.Pure;
+import com.jnape.palatable.lambda.functor.Functor;
+import com.jnape.palatable.lambda.monad.MonadRec;
+import com.jnape.palatable.winterbourne.StreamT;
+import lombok.NoArgsConstructor;
+import org.movealong.sly.lang.functor.builtin.Chunk;
+
+import static com.jnape.palatable.lambda.adt.Maybe.just;
+import static com.jnape.palatable.lambda.adt.hlist.HList.tuple;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * A {@link HyperFn} that flattens a {@link StreamT} of {@link Chunk}s back
+ * into a {@link StreamT} of their elements, in order. The elements of a chunk
+ * are streamed without running the argument {@link MonadRec} of the input
+ * stream; it is only run to fetch the next chunk.
+ *
+ * @param <M> the argument {@link MonadRec}
+ * @param <A> the element type
+ * @see Chunking
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class Unchunking<M extends MonadRec<?, M>, A> implements
+    HyperFn<StreamT<M, ?>, Chunk<A>, StreamT<M, ?>, A> {
+
+    private static final Unchunking<?, ?> INSTANCE = new Unchunking<>();
+
+    @Override
+    public <GB extends Functor<A, StreamT<M, ?>>> GB apply(Functor<Chunk<A>, StreamT<M, ?>> fa) {
+        StreamT<M, Chunk<A>> chunks = fa.coerce();
+        Pure<M>              pureM  = Pure.of(chunks.runStreamT());
+        MonadRec<Tuple3<Integer, Chunk<A>, StreamT<M, Chunk<A>>>, M> start =
+            pureM.apply(tuple(0, Chunk.<A>emptyChunk(), chunks));
+        StreamT<M, A> elements = StreamT.unfold(state -> step(pureM, state), start);
+        return elements.coerce();
+    }
+
+    private MonadRec<Maybe<Tuple2<Maybe<A>, Tuple3<Integer, Chunk<A>, StreamT<M, Chunk<A>>>>>, M>
+    step(Pure<M> pureM, Tuple3<Integer, Chunk<A>, StreamT<M, Chunk<A>>> state) {
+        int      index = state._1();
+        Chunk<A> chunk = state._2();
+        if (index < chunk.size())
+            return pureM.apply(just(tuple(just(chunk.get(index)), tuple(index + 1, chunk, state._3()))));
+        return state._3().runStreamT().fmap(node -> node.fmap(
+            headAndTail -> tuple(Maybe.<A>nothing(),
+                                 tuple(0, headAndTail._1().orElse(Chunk.<A>emptyChunk()), headAndTail._2()))));
+    }
+
+    /**
+     * A {@link HyperFn} that flattens a {@link StreamT} of {@link Chunk}s.
+     *
+     * @param <M> the argument {@link MonadRec}
+     * @param <A> the element type
+     * @return a <code>HyperFn</code> that unchunks a {@link StreamT}
+     * @see Chunking
+     */
+    @SuppressWarnings("unchecked")
+    public static <M extends MonadRec<?, M>, A> Unchunking<M, A> unchunking() {
+        return (Unchunking<M, A>) INSTANCE;
+    }
+}
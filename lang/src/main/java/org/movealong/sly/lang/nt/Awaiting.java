@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.lang.nt;
+
+import com.jnape.palatable.lambda.adt.Try;
+import com.jnape.palatable.lambda.functor.Functor;
+import com.jnape.palatable.winterbourne.NaturalTransformation;
+import lombok.RequiredArgsConstructor;
+import org.movealong.sly.lang.functor.builtin.Async;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+import static com.jnape.palatable.lambda.adt.Try.trying;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * A {@link NaturalTransformation} that waits for the result of an
+ * {@link Async} for at most a given timeout, capturing the result as a
+ * {@link Try}. An <code>Async</code> that completes with a value within the
+ * timeout will produce a <code>Try</code> in the success state. One that
+ * completes exceptionally will produce a <code>Try</code> in the failure
+ * state with the exception that it completed with, and one that does not
+ * complete in time will produce a <code>Try</code> in the failure state with
+ * a {@link java.util.concurrent.TimeoutException}. The result may then be
+ * thrown with {@link ThrowingExceptions}.
+ *
+ * @see PerformingIOAsync
+ */
+@RequiredArgsConstructor(access = PRIVATE)
+public final class Awaiting implements NaturalTransformation<Async<?>, Try<?>> {
+
+    private final Duration timeout;
+
+    @Override
+    public <A, GA extends Functor<A, Try<?>>> GA apply(Functor<A, Async<?>> fa) {
+        return trying(() -> {
+            try {
+                return fa.<Async<A>>coerce().toCompletableFuture().get(timeout.toNanos(), NANOSECONDS);
+            } catch (ExecutionException | CompletionException e) {
+                throw e.getCause() == null ? e : e.getCause();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw e;
+            }
+        }).coerce();
+    }
+
+    /**
+     * A {@link NaturalTransformation} of {@link Async} which waits for at
+     * most <code>timeout</code> for the result.
+     *
+     * @param timeout the longest time to wait
+     * @return a natural transformation of {@link Async}
+     */
+    public static NaturalTransformation<Async<?>, Try<?>> awaiting(Duration timeout) {
+        return new Awaiting(timeout);
+    }
+
+    public static <A> Try<A> awaiting(Async<A> async, Duration timeout) {
+        return awaiting(timeout).apply(async);
+    }
+}
@@ -40,6 +40,25 @@ public final class MappingIterateT<M extends MonadRec<?, M>, N extends MonadRec<
             nb).coerce();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Two consecutive <code>MappingIterateT</code>s unfold the iteration only
+     * once, applying their composed transformation to each step.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <H extends Functor<?, H>> NaturalTransformation<IterateT<M, ?>, H> andThen(NaturalTransformation<IterateT<N, ?>, H> bc) {
+        return bc instanceof MappingIterateT<?, ?>
+               ? (NaturalTransformation<IterateT<M, ?>, H>) (NaturalTransformation<?, ?>)
+                   fused((MappingIterateT<N, ?>) (NaturalTransformation<?, ?>) bc)
+               : NaturalTransformation.super.andThen(bc);
+    }
+
+    private <O extends MonadRec<?, O>> MappingIterateT<M, O> fused(MappingIterateT<N, O> next) {
+        return new MappingIterateT<>(transformation.andThen(next.transformation));
+    }
+
     /**
      * A {@link NaturalTransformation} that changes the argument
      * {@link MonadRec} of a {@link IterateT}
@@ -40,6 +40,26 @@ public class MappingStreamT<M extends MonadRec<?, M>, N extends MonadRec<?, N>>
         return fa.<StreamT<M, A>>coerce().mapStreamT(transformation).coerce();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A following <code>MappingStreamT</code> is fused with this one, so that
+     * the stream is rebuilt once with the composed transformation rather than
+     * once per transformation.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <H extends Functor<?, H>> NaturalTransformation<StreamT<M, ?>, H> andThen(NaturalTransformation<StreamT<N, ?>, H> bc) {
+        return bc instanceof MappingStreamT<?, ?>
+               ? (NaturalTransformation<StreamT<M, ?>, H>) (NaturalTransformation<?, ?>)
+                   fused((MappingStreamT<N, ?>) (NaturalTransformation<?, ?>) bc)
+               : NaturalTransformation.super.andThen(bc);
+    }
+
+    private <O extends MonadRec<?, O>> MappingStreamT<M, O> fused(MappingStreamT<N, O> next) {
+        return new MappingStreamT<>(transformation.andThen(next.transformation));
+    }
+
     public static <M extends MonadRec<?, M>, N extends MonadRec<?, N>> MappingStreamT<M, N>
     mappingStreamT(NaturalTransformation<M, N> transformation) {
         return new MappingStreamT<>(transformation);
@@ -41,6 +41,21 @@ public final class PerformingIO implements NaturalTransformation<IO<?>, Try<?>>
         return trying(fa.<IO<A>>coerce()::unsafePerformIO).coerce();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Followed by {@link ThrowingExceptions}, the composition performs the
+     * {@link IO} directly and lets any exception propagate, without
+     * capturing it in a {@link Try} first.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <H extends Functor<?, H>> NaturalTransformation<IO<?>, H> andThen(NaturalTransformation<Try<?>, H> bc) {
+        return bc instanceof ThrowingExceptions
+               ? (NaturalTransformation<IO<?>, H>) (NaturalTransformation<?, ?>) PerformingIOThrowing.INSTANCE
+               : NaturalTransformation.super.andThen(bc);
+    }
+
     public static NaturalTransformation<IO<?>, Try<?>> performingIO() {
         return INSTANCE;
     }
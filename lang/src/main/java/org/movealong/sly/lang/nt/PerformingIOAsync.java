@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.lang.nt;
+
+import com.jnape.palatable.lambda.functor.Functor;
+import com.jnape.palatable.lambda.io.IO;
+import com.jnape.palatable.winterbourne.NaturalTransformation;
+import lombok.RequiredArgsConstructor;
+import org.movealong.sly.lang.functor.builtin.Async;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import static lombok.AccessLevel.PRIVATE;
+import static org.movealong.sly.lang.functor.builtin.Async.async;
+
+/**
+ * A {@link NaturalTransformation} that performs an {@link IO}
+ * asynchronously on an {@link Executor}, capturing the eventual result of
+ * performing the operation as an {@link Async}. The calling thread does not
+ * wait for the operation to complete. An <code>IO</code> that throws an
+ * exception results in an <code>Async</code> whose future completes
+ * exceptionally.
+ *
+ * @see Awaiting
+ */
+@RequiredArgsConstructor(access = PRIVATE)
+public final class PerformingIOAsync implements NaturalTransformation<IO<?>, Async<?>> {
+
+    private static final PerformingIOAsync INSTANCE = new PerformingIOAsync(ForkJoinPool.commonPool());
+
+    private final Executor executor;
+
+    @Override
+    public <A, GA extends Functor<A, Async<?>>> GA apply(Functor<A, IO<?>> fa) {
+        return async(fa.<IO<A>>coerce().unsafePerformAsyncIO(executor)).coerce();
+    }
+
+    /**
+     * A {@link NaturalTransformation} that performs an {@link IO} on the
+     * common {@link ForkJoinPool}.
+     *
+     * @return a natural transformation of {@link IO}
+     */
+    public static NaturalTransformation<IO<?>, Async<?>> performingIOAsync() {
+        return INSTANCE;
+    }
+
+    /**
+     * A {@link NaturalTransformation} that performs an {@link IO} on the
+     * supplied {@link Executor}.
+     *
+     * @param executor the {@link Executor} on which to perform the operation
+     * @return a natural transformation of {@link IO}
+     */
+    public static NaturalTransformation<IO<?>, Async<?>> performingIOAsync(Executor executor) {
+        return new PerformingIOAsync(executor);
+    }
+
+    public static <A> Async<A> performingIOAsync(IO<A> io, Executor executor) {
+        return performingIOAsync(executor).apply(io);
+    }
+}
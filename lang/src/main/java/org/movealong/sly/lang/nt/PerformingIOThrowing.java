@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.lang.nt;
+
+import com.jnape.palatable.lambda.functor.Functor;
+import com.jnape.palatable.lambda.functor.builtin.Identity;
+import com.jnape.palatable.lambda.io.IO;
+import com.jnape.palatable.winterbourne.NaturalTransformation;
+import lombok.NoArgsConstructor;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * The fusion of {@link PerformingIO} and {@link ThrowingExceptions}. It
+ * performs an {@link IO} and wraps the result in {@link Identity}, letting
+ * any exception propagate directly instead of capturing it in a
+ * {@link com.jnape.palatable.lambda.adt.Try} only to throw it again.
+ *
+ * @see PerformingIO#andThen(NaturalTransformation)
+ */
+@NoArgsConstructor(access = PRIVATE)
+final class PerformingIOThrowing implements NaturalTransformation<IO<?>, Identity<?>> {
+
+    static final PerformingIOThrowing INSTANCE = new PerformingIOThrowing();
+
+    @Override
+    public <A, GA extends Functor<A, Identity<?>>> GA apply(Functor<A, IO<?>> fa) {
+        return new Identity<>(fa.<IO<A>>coerce().unsafePerformIO()).coerce();
+    }
+}
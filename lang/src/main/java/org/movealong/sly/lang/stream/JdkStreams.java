@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.lang.stream;
+
+import com.jnape.palatable.lambda.adt.Maybe;
+import com.jnape.palatable.lambda.adt.hlist.Tuple2;
+import com.jnape.palatable.lambda.functor.Functor;
+import com.jnape.palatable.lambda.functor.builtin.Identity;
+import com.jnape.palatable.lambda.io.IO;
+import com.jnape.palatable.lambda.monad.MonadRec;
+import com.jnape.palatable.lambda.monad.transformer.builtin.IterateT;
+import com.jnape.palatable.winterbourne.NaturalTransformation;
+import com.jnape.palatable.winterbourne.StreamT;
+import lombok.NoArgsConstructor;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.jnape.palatable.lambda.adt.Maybe.just;
+import static com.jnape.palatable.lambda.adt.Maybe.nothing;
+import static com.jnape.palatable.lambda.adt.hlist.HList.tuple;
+import static com.jnape.palatable.lambda.io.IO.io;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Bridges between sly's effectful streams, {@link StreamT} and
+ * {@link IterateT}, and <code>java.util.stream</code>.
+ * <p>
+ * A <code>StreamT</code> or <code>IterateT</code> is exposed as an ordered
+ * {@link Spliterator} of unknown size that runs one step of the stream each
+ * time it advances. The argument {@link MonadRec} of the stream is run with a
+ * {@link NaturalTransformation} into {@link Identity}; for {@link IO}, use
+ * <code>performingIO().andThen(throwingExceptions())</code>. Splitting hands
+ * off batches of elements to other threads in arithmetically increasing sizes,
+ * so a parallel stream can start working before the source is exhausted and
+ * the source is never materialized all at once.
+ * <p>
+ * In the other direction, a {@link Stream} is exposed as a <code>StreamT</code>
+ * or <code>IterateT</code> over {@link IO} that pulls the next element when
+ * the <code>IO</code> is performed. Like the <code>Stream</code> itself, the
+ * result can only be traversed once. The <code>Stream</code> is closed when
+ * the traversal reaches its end or a step fails; a consumer that stops early
+ * is responsible for closing it.
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class JdkStreams {
+
+    private static final NaturalTransformation<Identity<?>, Identity<?>> RUNNING_IDENTITY =
+        new NaturalTransformation<>() {
+            @Override
+            public <A, GA extends Functor<A, Identity<?>>> GA apply(Functor<A, Identity<?>> fa) {
+                return fa.coerce();
+            }
+        };
+
+    /**
+     * An ordered {@link Spliterator} over the elements of a {@link StreamT}
+     * over {@link Identity}.
+     *
+     * @param <A>    the element type
+     * @param stream the stream
+     * @return a {@link Spliterator}
+     */
+    public static <A> Spliterator<A> spliterator(StreamT<Identity<?>, A> stream) {
+        return spliterator(stream, RUNNING_IDENTITY);
+    }
+
+    /**
+     * An ordered {@link Spliterator} over the elements of a {@link StreamT},
+     * running each step of the stream with <code>running</code>.
+     *
+     * @param <M>     the argument {@link MonadRec}
+     * @param <A>     the element type
+     * @param stream  the stream
+     * @param running a natural transformation that runs the argument monad
+     * @return a {@link Spliterator}
+     */
+    public static <M extends MonadRec<?, M>, A> Spliterator<A>
+    spliterator(StreamT<M, A> stream, NaturalTransformation<M, Identity<?>> running) {
+        return new StreamTSpliterator<>(stream, running);
+    }
+
+    /**
+     * An ordered {@link Spliterator} over the elements of an {@link IterateT}
+     * over {@link Identity}.
+     *
+     * @param <A>     the element type
+     * @param iterate the iteration
+     * @return a {@link Spliterator}
+     */
+    public static <A> Spliterator<A> spliterator(IterateT<Identity<?>, A> iterate) {
+        return spliterator(iterate, RUNNING_IDENTITY);
+    }
+
+    /**
+     * An ordered {@link Spliterator} over the elements of an {@link IterateT},
+     * running each step of the iteration with <code>running</code>.
+     *
+     * @param <M>     the argument {@link MonadRec}
+     * @param <A>     the element type
+     * @param iterate the iteration
+     * @param running a natural transformation that runs the argument monad
+     * @return a {@link Spliterator}
+     */
+    public static <M extends MonadRec<?, M>, A> Spliterator<A>
+    spliterator(IterateT<M, A> iterate, NaturalTransformation<M, Identity<?>> running) {
+        return new IterateTSpliterator<>(iterate, running);
+    }
+
+    /**
+     * A {@link Stream} of the elements of a {@link StreamT}, running each step
+     * of the stream with <code>running</code>.
+     *
+     * @param <M>      the argument {@link MonadRec}
+     * @param <A>      the element type
+     * @param stream   the stream
+     * @param running  a natural transformation that runs the argument monad
+     * @param parallel whether the resulting stream is parallel
+     * @return a {@link Stream}
+     */
+    public static <M extends MonadRec<?, M>, A> Stream<A>
+    stream(StreamT<M, A> stream, NaturalTransformation<M, Identity<?>> running, boolean parallel) {
+        return StreamSupport.stream(spliterator(stream, running), parallel);
+    }
+
+    /**
+     * A {@link Stream} of the elements of an {@link IterateT}, running each
+     * step of the iteration with <code>running</code>.
+     *
+     * @param <M>      the argument {@link MonadRec}
+     * @param <A>      the element type
+     * @param iterate  the iteration
+     * @param running  a natural transformation that runs the argument monad
+     * @param parallel whether the resulting stream is parallel
+     * @return a {@link Stream}
+     */
+    public static <M extends MonadRec<?, M>, A> Stream<A>
+    stream(IterateT<M, A> iterate, NaturalTransformation<M, Identity<?>> running, boolean parallel) {
+        return StreamSupport.stream(spliterator(iterate, running), parallel);
+    }
+
+    /**
+     * A {@link StreamT} over {@link IO} of the elements of a {@link Stream}.
+     * Each step pulls the next element from the stream when it is performed.
+     * The stream is closed once it is exhausted or a step fails; a consumer
+     * that stops early must close it.
+     *
+     * @param <A>    the element type
+     * @param stream the stream
+     * @return a {@link StreamT}
+     */
+    public static <A> StreamT<IO<?>, A> streamT(Stream<A> stream) {
+        return StreamT.unfold(it -> pullStreamT(stream, it), io(() -> stream.iterator()));
+    }
+
+    /**
+     * An {@link IterateT} over {@link IO} of the elements of a {@link Stream}.
+     * Each step pulls the next element from the stream when it is performed.
+     * The stream is closed once it is exhausted or a step fails; a consumer
+     * that stops early must close it.
+     *
+     * @param <A>    the element type
+     * @param stream the stream
+     * @return an {@link IterateT}
+     */
+    public static <A> IterateT<IO<?>, A> iterateT(Stream<A> stream) {
+        return IterateT.unfold(it -> pullIterateT(stream, it), io(() -> stream.iterator()));
+    }
+
+    private static <A> IO<Maybe<Tuple2<Maybe<A>, Iterator<A>>>> pullStreamT(Stream<A> stream, Iterator<A> it) {
+        return pulling(stream, it).fmap(m -> m.fmap(a -> tuple(just(a), it)));
+    }
+
+    private static <A> IO<Maybe<Tuple2<A, Iterator<A>>>> pullIterateT(Stream<A> stream, Iterator<A> it) {
+        return pulling(stream, it).fmap(m -> m.fmap(a -> tuple(a, it)));
+    }
+
+    private static <A> IO<Maybe<A>> pulling(Stream<A> stream, Iterator<A> it) {
+        return io(() -> {
+            try {
+                if (it.hasNext())
+                    return just(it.next());
+            } catch (RuntimeException | Error e) {
+                stream.close();
+                throw e;
+            }
+            stream.close();
+            return nothing();
+        });
+    }
+
+    private static final class StreamTSpliterator<M extends MonadRec<?, M>, A> extends Spliterators.AbstractSpliterator<A> {
+        private final NaturalTransformation<M, Identity<?>> running;
+        private       StreamT<M, A>                         rest;
+
+        private StreamTSpliterator(StreamT<M, A> stream, NaturalTransformation<M, Identity<?>> running) {
+            super(Long.MAX_VALUE, ORDERED);
+            this.rest = stream;
+            this.running = running;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super A> action) {
+            while (rest != null) {
+                Maybe<Tuple2<Maybe<A>, StreamT<M, A>>> node = running
+                    .<Maybe<Tuple2<Maybe<A>, StreamT<M, A>>>, Identity<Maybe<Tuple2<Maybe<A>, StreamT<M, A>>>>>apply(
+                        rest.runStreamT())
+                    .runIdentity();
+                Tuple2<Maybe<A>, StreamT<M, A>> step = node.orElse(null);
+                if (step == null) {
+                    rest = null;
+                    return false;
+                }
+                rest = step._2();
+                A head = step._1().orElse(null);
+                if (head != null) {
+                    action.accept(head);
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class IterateTSpliterator<M extends MonadRec<?, M>, A> extends Spliterators.AbstractSpliterator<A> {
+        private final NaturalTransformation<M, Identity<?>> running;
+        private       IterateT<M, A>                        rest;
+
+        private IterateTSpliterator(IterateT<M, A> iterate, NaturalTransformation<M, Identity<?>> running) {
+            super(Long.MAX_VALUE, ORDERED);
+            this.rest = iterate;
+            this.running = running;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super A> action) {
+            if (rest == null)
+                return false;
+            Maybe<Tuple2<A, IterateT<M, A>>> node = running
+                .<Maybe<Tuple2<A, IterateT<M, A>>>, Identity<Maybe<Tuple2<A, IterateT<M, A>>>>>apply(
+                    rest.runIterateT())
+                .runIdentity();
+            Tuple2<A, IterateT<M, A>> step = node.orElse(null);
+            if (step == null) {
+                rest = null;
+                return false;
+            }
+            rest = step._2();
+            action.accept(step._1());
+            return true;
+        }
+    }
+}
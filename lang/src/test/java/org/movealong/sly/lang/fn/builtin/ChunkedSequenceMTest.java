@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.lang.fn.builtin;
+
+import com.jnape.palatable.lambda.adt.Unit;
+import com.jnape.palatable.lambda.functor.builtin.Identity;
+import com.jnape.palatable.lambda.io.IO;
+import com.jnape.palatable.lambda.monad.transformer.builtin.ReaderT;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.jnape.palatable.lambda.adt.Unit.UNIT;
+import static com.jnape.palatable.lambda.functions.builtin.fn1.Constantly.constantly;
+import static com.jnape.palatable.lambda.functions.builtin.fn2.Replicate.replicate;
+import static com.jnape.palatable.lambda.functor.builtin.Identity.pureIdentity;
+import static com.jnape.palatable.lambda.io.IO.io;
+import static com.jnape.palatable.lambda.io.IO.pureIO;
+import static com.jnape.palatable.lambda.monad.transformer.builtin.ReaderT.pureReaderT;
+import static com.jnape.palatable.lambda.monad.transformer.builtin.ReaderT.readerT;
+import static com.jnape.palatable.lambda.monoid.Monoid.monoid;
+import static java.util.Collections.emptyList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.movealong.sly.lang.fn.builtin.ChunkedSequenceM.chunkedSequenceM;
+import static org.movealong.sly.lang.fn.builtin.SequenceM.sequenceM;
+import static testsupport.Constants.STACK_EXPLODING_NUMBER;
+import static testsupport.matchers.IOMatcher.yieldsValue;
+import static testsupport.matchers.IterableMatcher.isEmptyIterable;
+import static testsupport.matchers.IterableMatcher.iterates;
+
+class ChunkedSequenceMTest {
+
+    private static final int HUNDREDS_OF_THOUSANDS = 300_000;
+
+    @Test
+    void sequencesAcrossChunks() {
+        assertThat(ChunkedSequenceM.<Integer, IO<?>>chunkedSequenceM(3)
+                           .apply(pureIO(), replicate(10, io(new AtomicInteger(0)::incrementAndGet)))
+                           .coerce(),
+                   yieldsValue(iterates(1, 2, 3, 4, 5, 6, 7, 8, 9, 10)));
+    }
+
+    @Test
+    void sequencesNothing() {
+        assertThat(chunkedSequenceM(pureIO(), emptyList()).coerce(),
+                   yieldsValue(isEmptyIterable()));
+    }
+
+    @Test
+    void stackSafe() {
+        Iterable<ReaderT<Unit, Identity<?>, Integer>> rs = replicate(STACK_EXPLODING_NUMBER, readerT(constantly(new Identity<>(1))));
+        assertThat(monoid(Integer::sum, 0)
+                           .reduceLeft(chunkedSequenceM(pureReaderT(pureIdentity()), rs)
+                                               .<ReaderT<Unit, Identity<?>, Iterable<Integer>>>coerce()
+                                               .<Identity<Iterable<Integer>>>runReaderT(UNIT)
+                                               .runIdentity()),
+                   equalTo(STACK_EXPLODING_NUMBER));
+    }
+
+    @Test
+    void stackSafeWhereSequenceMOverflows() {
+        Iterable<ReaderT<Unit, Identity<?>, Integer>> rs = replicate(HUNDREDS_OF_THOUSANDS, readerT(constantly(new Identity<>(1))));
+        assertThat(monoid(Integer::sum, 0)
+                           .reduceLeft(chunkedSequenceM(pureReaderT(pureIdentity()), rs)
+                                               .<ReaderT<Unit, Identity<?>, Iterable<Integer>>>coerce()
+                                               .<Identity<Iterable<Integer>>>runReaderT(UNIT)
+                                               .runIdentity()),
+                   equalTo(HUNDREDS_OF_THOUSANDS));
+        assertThrows(StackOverflowError.class,
+                     () -> sequenceM(pureReaderT(pureIdentity()), rs)
+                             .<ReaderT<Unit, Identity<?>, Iterable<Integer>>>coerce()
+                             .<Identity<Iterable<Integer>>>runReaderT(UNIT)
+                             .runIdentity());
+    }
+
+    @Test
+    void foldsEachChunkFromTheSameStackDepth() {
+        ReaderT<Unit, Identity<?>, Integer> depth  =
+            readerT(u -> new Identity<>(Thread.currentThread().getStackTrace().length));
+        List<Integer>                       depths = new ArrayList<>();
+        ChunkedSequenceM.<Integer, ReaderT<Unit, Identity<?>, ?>>chunkedSequenceM(4)
+            .apply(pureReaderT(pureIdentity()), replicate(12, depth))
+            .<ReaderT<Unit, Identity<?>, Iterable<Integer>>>coerce()
+            .<Identity<Iterable<Integer>>>runReaderT(UNIT)
+            .runIdentity()
+            .forEach(depths::add);
+
+        for (int i = 4; i < depths.size(); i++)
+            assertThat(depths.get(i), equalTo(depths.get(i % 4)));
+        assertThat(depths.get(0).equals(depths.get(3)), equalTo(false));
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.lang.fn.builtin;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+
+import static com.jnape.palatable.lambda.io.IO.io;
+import static java.util.Arrays.asList;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.movealong.sly.lang.fn.builtin.ParSequence.parSequence;
+import static testsupport.matchers.IOMatcher.yieldsValue;
+import static testsupport.matchers.IterableMatcher.iterates;
+
+class ParSequenceTest {
+
+    @Test
+    void sequencesInOrder() {
+        ExecutorService executor = newFixedThreadPool(3);
+        try {
+            assertThat(parSequence(3, executor, asList(io("a"), io(() -> {
+                           Thread.sleep(10);
+                           return "b";
+                       }), io("c"))),
+                       yieldsValue(iterates("a", "b", "c")));
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.lang.fn.builtin;
+
+import com.jnape.palatable.lambda.io.IO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.jnape.palatable.lambda.io.IO.io;
+import static java.time.Duration.ofSeconds;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.number.OrderingComparison.lessThanOrEqualTo;
+import static org.movealong.sly.lang.fn.builtin.ParTraverse.parTraverse;
+import static org.movealong.sly.lang.nt.Awaiting.awaiting;
+import static org.movealong.sly.lang.nt.PerformingIOAsync.performingIOAsync;
+import static org.movealong.sly.matchers.lambda.TryMatcher.failedTryOf;
+import static testsupport.matchers.IOMatcher.yieldsValue;
+import static testsupport.matchers.IterableMatcher.isEmptyIterable;
+import static testsupport.matchers.IterableMatcher.iterates;
+
+class ParTraverseTest {
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void preservesOrder() {
+        assertThat(parTraverse(4, executor, (Integer i) -> io(() -> {
+                       Thread.sleep(10 - i);
+                       return i * 2;
+                   }), asList(1, 2, 3, 4, 5, 6, 7, 8, 9)),
+                   yieldsValue(iterates(2, 4, 6, 8, 10, 12, 14, 16, 18)));
+    }
+
+    @Test
+    void traversesNothing() {
+        assertThat(parTraverse(4, executor, (Integer i) -> io(i), emptyList()),
+                   yieldsValue(isEmptyIterable()));
+    }
+
+    @Test
+    void boundsConcurrency() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak     = new AtomicInteger();
+        parTraverse(2, executor, (Integer i) -> io(() -> {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            inFlight.decrementAndGet();
+            return i;
+        }), asList(1, 2, 3, 4, 5, 6, 7, 8)).unsafePerformIO();
+
+        assertThat(peak.get(), lessThanOrEqualTo(2));
+    }
+
+    @Test
+    void shortCircuitsOnFirstFailure() {
+        AtomicInteger    started = new AtomicInteger();
+        RuntimeException ex      = new RuntimeException("no");
+        IO<Iterable<Integer>> io = parTraverse(1, executor, (Integer i) -> io(() -> {
+            started.incrementAndGet();
+            if (i == 3)
+                throw ex;
+            return i;
+        }), asList(1, 2, 3, 4, 5, 6));
+
+        assertThat(awaiting(performingIOAsync(io, executor), ofSeconds(5)), failedTryOf(ex));
+        assertThat(started.get(), equalTo(3));
+    }
+}
@@ -23,6 +23,8 @@ import org.junit.jupiter.api.Test;
 import static com.jnape.palatable.lambda.adt.Either.left;
 import static com.jnape.palatable.lambda.adt.Either.right;
 import static com.jnape.palatable.lambda.functions.builtin.fn1.Constantly.constantly;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.movealong.sly.lang.hfn.CatchError.catchError;
 
@@ -46,4 +48,17 @@ class CatchErrorTest {
         assertEquals(Either.<Integer, String>left(5), sut.apply(subject));
         assertEquals(subject.catchError(fn), sut.apply(subject));
     }
-}
\ No newline at end of file
+
+    @Test
+    void fusesWithCatchError() {
+        Fn1<Integer, Monad<String, Either<Integer, ?>>> first  = n -> n > 0 ? left(n - 10) : right("first");
+        Fn1<Integer, Monad<String, Either<Integer, ?>>> second = n -> right("second " + n);
+        HyperFn<Either<Integer, ?>, String, Either<Integer, ?>, String> sut =
+            catchError(first).andThen(catchError(second));
+
+        assertThat(sut, instanceOf(CatchError.class));
+        assertEquals(Either.<Integer, String>right("second -5"), sut.apply(left(5)));
+        assertEquals(Either.<Integer, String>right("first"), sut.apply(left(-1)));
+        assertEquals(Either.<Integer, String>right("ok"), sut.apply(right("ok")));
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.lang.hfn;
+
+import com.jnape.palatable.lambda.functor.builtin.Identity;
+import com.jnape.palatable.winterbourne.StreamT;
+import org.junit.jupiter.api.Test;
+import org.movealong.sly.lang.functor.builtin.Chunk;
+
+import static com.jnape.palatable.lambda.adt.Maybe.just;
+import static com.jnape.palatable.lambda.adt.hlist.HList.tuple;
+import static com.jnape.palatable.lambda.functions.builtin.fn2.LTE.lte;
+import static com.jnape.palatable.winterbourne.StreamT.unfold;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.movealong.sly.lang.functor.builtin.Chunk.chunk;
+import static org.movealong.sly.lang.hfn.Chunking.chunking;
+import static org.movealong.sly.lang.hfn.FilteringChunks.filteringChunks;
+import static org.movealong.sly.lang.hfn.MappingChunks.mappingChunks;
+import static org.movealong.sly.lang.hfn.Unchunking.unchunking;
+import static org.movealong.sly.matchers.lambda.StreamTMatcher.isEmptyStreamT;
+import static org.movealong.sly.matchers.lambda.StreamTMatcher.streams;
+
+class ChunkingTest {
+
+    @Test
+    void chunksAStream() {
+        StreamT<Identity<?>, Chunk<Integer>> chunks = Chunking.<Identity<?>, Integer>chunking(3).apply(upTo(7));
+
+        assertThat(chunks, streams(chunk(1, 2, 3), chunk(4, 5, 6), chunk(7)));
+    }
+
+    @Test
+    void chunksAnEmptyStream() {
+        StreamT<Identity<?>, Chunk<Integer>> chunks = Chunking.<Identity<?>, Integer>chunking(3).apply(upTo(0));
+
+        assertThat(chunks, isEmptyStreamT());
+    }
+
+    @Test
+    void mapsAndFiltersWholeChunks() {
+        HyperFn<StreamT<Identity<?>, ?>, Integer, StreamT<Identity<?>, ?>, Integer> pipeline =
+            Chunking.<Identity<?>, Integer>chunking(3)
+                .andThen(MappingChunks.<Identity<?>, Integer, Integer>mappingChunks(n -> n * 10))
+                .andThen(FilteringChunks.<Identity<?>, Integer>filteringChunks(n -> n != 40))
+                .andThen(Unchunking.<Identity<?>, Integer>unchunking());
+
+        StreamT<Identity<?>, Integer> result = pipeline.apply(upTo(7));
+        assertThat(result, streams(10, 20, 30, 50, 60, 70));
+    }
+
+    private static StreamT<Identity<?>, Integer> upTo(int last) {
+        return unfold(n -> new Identity<>(just(n).filter(lte(last)).fmap(i -> tuple(just(i), i + 1))),
+                      new Identity<>(1));
+    }
+}
@@ -20,8 +20,11 @@ import com.jnape.palatable.lambda.functions.Fn1;
 import org.junit.jupiter.api.Test;
 
 import static com.jnape.palatable.lambda.adt.Maybe.just;
+import static com.jnape.palatable.lambda.adt.Maybe.nothing;
 import static com.jnape.palatable.lambda.functions.builtin.fn1.Not.not;
 import static com.jnape.palatable.lambda.functions.builtin.fn2.Eq.eq;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.movealong.sly.lang.hfn.FlatMap.flatMap;
 
@@ -46,4 +49,16 @@ class FlatMapTest {
     private static Fn1<String, Maybe<Integer>> indexOf(String substring) {
         return s -> just(s.indexOf(substring)).filter(not(eq(-1)));
     }
-}
\ No newline at end of file
+
+    @Test
+    void fusesWithFmapAndFlatMap() {
+        HyperFn<Maybe<?>, String, Maybe<?>, String> sut =
+            FlatMap.<Maybe<?>, String, Integer, Maybe<Integer>>flatMap(indexOf("test"))
+                .andThen(Fmap.<Maybe<?>, Integer, Integer>fmap(n -> n + 1))
+                .andThen(FlatMap.<Maybe<?>, Integer, String, Maybe<String>>flatMap(n -> just("at " + n)));
+
+        assertThat(sut, instanceOf(FlatMap.class));
+        assertEquals(just("at 11"), sut.apply(just("this is a test")));
+        assertEquals(nothing(), sut.apply(just("this is a trial")));
+    }
+}
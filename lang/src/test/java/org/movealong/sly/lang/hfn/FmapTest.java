@@ -24,6 +24,8 @@ import static com.jnape.palatable.lambda.adt.Either.left;
 import static com.jnape.palatable.lambda.adt.Either.right;
 import static com.jnape.palatable.lambda.adt.Maybe.just;
 import static com.jnape.palatable.lambda.adt.Maybe.nothing;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.movealong.sly.lang.hfn.Fmap.fmap;
 
@@ -64,4 +66,35 @@ class FmapTest {
 
         assertEquals(subject.fmap(fn), sut.<Either<Integer, Integer>>apply(subject));
     }
-}
\ No newline at end of file
+
+    @Test
+    void fusesWithFmap() {
+        HyperFn<Maybe<?>, String, Maybe<?>, String> sut =
+            Fmap.<Maybe<?>, String, Integer>fmap(String::length)
+                .andThen(Fmap.<Maybe<?>, Integer, String>fmap(n -> "length " + n));
+
+        assertThat(sut, instanceOf(Fmap.class));
+        assertEquals(just("length 4"), sut.apply(just("test")));
+    }
+
+    @Test
+    void fusesAChainOfFmapsIntoOne() {
+        HyperFn<Maybe<?>, Integer, Maybe<?>, Integer> sut = Fmap.<Maybe<?>, Integer, Integer>fmap(n -> n + 1);
+        for (int i = 1; i < 1_000; i++)
+            sut = sut.andThen(Fmap.<Maybe<?>, Integer, Integer>fmap(n -> n + 1));
+
+        assertThat(sut, instanceOf(Fmap.class));
+        assertEquals(just(1_000), sut.apply(just(0)));
+    }
+
+    @Test
+    void fusesWithFlatMap() {
+        HyperFn<Maybe<?>, String, Maybe<?>, Integer> sut =
+            Fmap.<Maybe<?>, String, Integer>fmap(String::length)
+                .andThen(FlatMap.<Maybe<?>, Integer, Integer, Maybe<Integer>>flatMap(n -> just(n * 2)));
+
+        assertThat(sut, instanceOf(FlatMap.class));
+        assertEquals(just(8), sut.apply(just("test")));
+        assertEquals(nothing(), sut.apply(nothing()));
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.lang.hfn;
+
+import com.jnape.palatable.lambda.io.IO;
+import com.jnape.palatable.lambda.traversable.LambdaIterable;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+
+import static com.jnape.palatable.lambda.io.IO.io;
+import static com.jnape.palatable.lambda.traversable.LambdaIterable.wrap;
+import static java.util.Arrays.asList;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.movealong.sly.lang.hfn.ParTraverse.parTraverse;
+import static testsupport.matchers.IOMatcher.yieldsValue;
+import static testsupport.matchers.IterableMatcher.iterates;
+
+class ParTraverseTest {
+
+    @Test
+    void traversesInParallel() {
+        ExecutorService executor = newFixedThreadPool(2);
+        try {
+            HyperFn<LambdaIterable<?>, Integer, IO<?>, LambdaIterable<String>> sut =
+                parTraverse(2, executor, i -> io(() -> "n" + i));
+
+            IO<LambdaIterable<String>> result = sut.apply(wrap(asList(1, 2, 3)));
+            assertThat(result.fmap(LambdaIterable::unwrap), yieldsValue(iterates("n1", "n2", "n3")));
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -17,6 +17,7 @@ package org.movealong.sly.lang.nt;
 
 import com.jnape.palatable.lambda.functor.builtin.Identity;
 import com.jnape.palatable.lambda.io.IO;
+import com.jnape.palatable.winterbourne.NaturalTransformation;
 import com.jnape.palatable.winterbourne.StreamT;
 import org.junit.jupiter.api.Test;
 
@@ -33,6 +34,8 @@ import static com.jnape.palatable.shoki.impl.StrictQueue.strictQueue;
 import static com.jnape.palatable.winterbourne.StreamT.empty;
 import static com.jnape.palatable.winterbourne.StreamT.unfold;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.movealong.sly.lang.nt.FromPure.fromPure;
 import static org.movealong.sly.lang.nt.MappingStreamT.mappingStreamT;
 import static org.movealong.sly.matchers.lambda.StreamTMatcher.isEmptyStreamT;
 import static org.movealong.sly.matchers.lambda.StreamTMatcher.streamsAll;
@@ -71,4 +74,20 @@ class MappingStreamTTest {
         assertThat(mappingStreamT(yoloIO(), intermittentFibonacci),
                    streamsAll(integers));
     }
-}
\ No newline at end of file
+
+    @Test
+    void fusesConsecutiveMappings() {
+        Iterable<Integer> integers = strictQueue(1, 1, 2, 3, 5);
+        StreamT<IO<?>, Integer> fibonacciFive = unfold(
+            into((i0, i1) -> io(just(i0).filter(lte(5)).fmap(i -> tuple(just(i), tuple(i1, i + i1))))),
+            io(tuple(1, 1)));
+        NaturalTransformation<StreamT<IO<?>, ?>, StreamT<Identity<?>, ?>> sut =
+            mappingStreamT(yoloIO())
+                .andThen(mappingStreamT(fromPure(pureIO())))
+                .andThen(mappingStreamT(yoloIO()));
+
+        assertThat(sut, instanceOf(MappingStreamT.class));
+        assertThat(sut.<Integer, StreamT<Identity<?>, Integer>>apply(fibonacciFive),
+                   streamsAll(integers));
+    }
+}
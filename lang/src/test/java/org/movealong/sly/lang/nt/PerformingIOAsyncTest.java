@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.lang.nt;
+
+import com.jnape.palatable.lambda.functor.builtin.Identity;
+import com.jnape.palatable.lambda.io.IO;
+import com.jnape.palatable.winterbourne.NaturalTransformation;
+import org.junit.jupiter.api.Test;
+import org.movealong.sly.lang.functor.builtin.Async;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeoutException;
+
+import static com.jnape.palatable.lambda.io.IO.io;
+import static com.jnape.palatable.lambda.io.IO.throwing;
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofSeconds;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.hamcrest.core.IsNot.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.movealong.sly.lang.nt.Awaiting.awaiting;
+import static org.movealong.sly.lang.nt.PerformingIOAsync.performingIOAsync;
+import static org.movealong.sly.lang.nt.ThrowingExceptions.throwingExceptions;
+import static org.movealong.sly.matchers.lambda.TryMatcher.failedTryOf;
+import static org.movealong.sly.matchers.lambda.TryMatcher.failedTryThat;
+import static org.movealong.sly.matchers.lambda.TryMatcher.successfulTryThat;
+
+class PerformingIOAsyncTest {
+
+    @Test
+    void performsOnTheExecutor() {
+        ExecutorService executor = newSingleThreadExecutor();
+        try {
+            IO<String> input = io(() -> Thread.currentThread().getName());
+            assertThat(awaiting(performingIOAsync(input, executor), ofSeconds(5)),
+                       successfulTryThat(not(equalTo(Thread.currentThread().getName()))));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void capturesFailures() {
+        RuntimeException ex    = new RuntimeException("no");
+        IO<String>       input = throwing(ex);
+        assertThat(awaiting(performingIOAsync().<String, Async<String>>apply(input), ofSeconds(5)),
+                   failedTryOf(ex));
+    }
+
+    @Test
+    void timesOut() {
+        CountDownLatch  latch    = new CountDownLatch(1);
+        ExecutorService executor = newSingleThreadExecutor();
+        try {
+            IO<String> input = io(() -> {
+                latch.await();
+                return "late";
+            });
+            assertThat(awaiting(performingIOAsync(input, executor), ofMillis(10)),
+                       failedTryThat(instanceOf(TimeoutException.class)));
+        } finally {
+            latch.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void composed() {
+        NaturalTransformation<IO<?>, Identity<?>> sut =
+            performingIOAsync().andThen(awaiting(ofSeconds(5))).andThen(throwingExceptions());
+
+        assertThat(sut.<String, Identity<String>>apply(io("yay")).runIdentity(),
+                   equalTo("yay"));
+        assertThrows(RuntimeException.class,
+                     () -> sut.apply(throwing(new RuntimeException("boom"))));
+    }
+}
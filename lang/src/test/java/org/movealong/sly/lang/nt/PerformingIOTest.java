@@ -15,14 +15,20 @@
  */
 package org.movealong.sly.lang.nt;
 
+import com.jnape.palatable.lambda.functor.builtin.Identity;
 import com.jnape.palatable.lambda.io.IO;
+import com.jnape.palatable.winterbourne.NaturalTransformation;
 import org.junit.jupiter.api.Test;
 
 import static com.jnape.palatable.lambda.io.IO.io;
 import static com.jnape.palatable.lambda.io.IO.throwing;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.movealong.sly.lang.nt.PerformingIO.performingIO;
+import static org.movealong.sly.lang.nt.ThrowingExceptions.throwingExceptions;
 import static org.movealong.sly.matchers.lambda.TryMatcher.failedTryOf;
 import static org.movealong.sly.matchers.lambda.TryMatcher.successfulTryThat;
 
@@ -42,4 +48,15 @@ class PerformingIOTest {
         assertThat(performingIO(input),
                    failedTryOf(ex));
     }
-}
\ No newline at end of file
+
+    @Test
+    void fusesWithThrowingExceptions() {
+        NaturalTransformation<IO<?>, Identity<?>> sut = performingIO().andThen(throwingExceptions());
+        RuntimeException                          ex  = new RuntimeException("no");
+
+        assertThat(sut, instanceOf(PerformingIOThrowing.class));
+        assertThat(sut.<String, Identity<String>>apply(io("junit")).runIdentity(), equalTo("junit"));
+        assertThat(assertThrows(RuntimeException.class, () -> sut.<String, Identity<String>>apply(throwing(ex))),
+                   sameInstance(ex));
+    }
+}
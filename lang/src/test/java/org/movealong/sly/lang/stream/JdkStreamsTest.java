@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2024 Nate Riffe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.movealong.sly.lang.stream;
+
+import com.jnape.palatable.lambda.adt.Maybe;
+import com.jnape.palatable.lambda.functor.builtin.Identity;
+import com.jnape.palatable.lambda.io.IO;
+import com.jnape.palatable.lambda.monad.transformer.builtin.IterateT;
+import com.jnape.palatable.winterbourne.NaturalTransformation;
+import com.jnape.palatable.winterbourne.StreamT;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.jnape.palatable.lambda.adt.Maybe.just;
+import static com.jnape.palatable.lambda.adt.hlist.HList.tuple;
+import static com.jnape.palatable.lambda.functions.builtin.fn2.LTE.lte;
+import static com.jnape.palatable.lambda.io.IO.io;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.movealong.sly.lang.nt.PerformingIO.performingIO;
+import static org.movealong.sly.lang.nt.ThrowingExceptions.throwingExceptions;
+import static org.movealong.sly.lang.stream.JdkStreams.iterateT;
+import static org.movealong.sly.lang.stream.JdkStreams.spliterator;
+import static org.movealong.sly.lang.stream.JdkStreams.stream;
+import static org.movealong.sly.lang.stream.JdkStreams.streamT;
+
+class JdkStreamsTest {
+
+    private static final NaturalTransformation<IO<?>, Identity<?>> RUNNING_IO =
+        performingIO().andThen(throwingExceptions());
+
+    @Test
+    void spliteratesAStreamTSkippingEmptySteps() {
+        StreamT<Identity<?>, Integer> subject = StreamT.unfold(
+            n -> new Identity<>(just(n).filter(lte(6)).fmap(i -> tuple(i % 2 == 0 ? Maybe.<Integer>nothing() : just(i), i + 1))),
+            new Identity<>(1));
+
+        assertThat(StreamSupport.stream(spliterator(subject), false).collect(toList()),
+                   equalTo(asList(1, 3, 5)));
+    }
+
+    @Test
+    void spliteratesAnIterateT() {
+        IterateT<Identity<?>, Integer> subject = IterateT.unfold(
+            n -> new Identity<>(just(n).filter(lte(4)).fmap(i -> tuple(i, i + 1))),
+            new Identity<>(1));
+
+        assertThat(StreamSupport.stream(spliterator(subject), false).collect(toList()),
+                   equalTo(asList(1, 2, 3, 4)));
+    }
+
+    @Test
+    void streamsAStreamTOverIOInParallel() {
+        StreamT<IO<?>, Integer> subject = StreamT.unfold(
+            n -> io(() -> just(n).filter(lte(10_000)).fmap(i -> tuple(just(i), i + 1))),
+            io(1));
+
+        assertThat(stream(subject, RUNNING_IO, true).mapToLong(i -> i).sum(),
+                   equalTo(50_005_000L));
+    }
+
+    @Test
+    void roundTripsAJdkStreamThroughStreamT() {
+        assertThat(stream(streamT(Stream.of("a", "b", "c")), RUNNING_IO, false).collect(toList()),
+                   equalTo(asList("a", "b", "c")));
+    }
+
+    @Test
+    void roundTripsAJdkStreamThroughIterateT() {
+        assertThat(stream(iterateT(Stream.of("a", "b", "c")), RUNNING_IO, false).collect(toList()),
+                   equalTo(asList("a", "b", "c")));
+    }
+
+    @Test
+    void closesTheJdkStreamWhenTheStreamTIsExhausted() {
+        AtomicBoolean closed = new AtomicBoolean();
+
+        assertThat(stream(streamT(Stream.of("a", "b").onClose(() -> closed.set(true))), RUNNING_IO, false)
+                       .collect(toList()),
+                   equalTo(asList("a", "b")));
+        assertThat(closed.get(), equalTo(true));
+    }
+
+    @Test
+    void closesTheJdkStreamWhenAnIterateTStepFails() {
+        AtomicBoolean  closed  = new AtomicBoolean();
+        Stream<String> failing = Stream.of("a", "b")
+            .<String>map(s -> {
+                throw new IllegalStateException(s);
+            })
+            .onClose(() -> closed.set(true));
+
+        assertThrows(IllegalStateException.class,
+                     () -> stream(iterateT(failing), RUNNING_IO, false).collect(toList()));
+        assertThat(closed.get(), equalTo(true));
+    }
+}